@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets postgres-replica take a base backup and stream WAL, only runs when the data volume is created
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,79 @@
+package com.oms.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.OrderDTO;
+import com.oms.entity.CustomerTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code OrderDTO} and {@code CustomerDTO} lists the list endpoints return, with the
+ * mapper configured as Spring Boot configures it for MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private List<OrderDTO> orders;
+    private List<CustomerDTO> customers;
+    private ObjectWriter orderListWriter;
+    private ObjectWriter customerListWriter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        orders = new ArrayList<>(size);
+        customers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+            BigDecimal discount = amount.divide(BigDecimal.TEN, 2, RoundingMode.HALF_UP);
+            orders.add(new OrderDTO((long) i, (long) random.nextInt(10_000), amount, discount,
+                amount.subtract(discount), start.plusSeconds(random.nextInt(31_536_000))));
+            customers.add(new CustomerDTO((long) i, "Customer " + i, "customer" + i + "@example.com",
+                CustomerTier.values()[random.nextInt(CustomerTier.values().length)], random.nextInt(50)));
+        }
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        // Writers for the declared list types, as the message converter resolves them from the controller signature
+        orderListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+            .constructCollectionType(List.class, OrderDTO.class));
+        customerListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+            .constructCollectionType(List.class, CustomerDTO.class));
+    }
+
+    @Benchmark
+    public byte[] orderList() throws JsonProcessingException {
+        return orderListWriter.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] customerList() throws JsonProcessingException {
+        return customerListWriter.writeValueAsBytes(customers);
+    }
+}
@@ -0,0 +1,60 @@
+package com.oms.benchmark;
+
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import com.oms.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Order.calculateAmounts}, reached through {@link Order#prePersist} for orders that were not priced by the
+ * service. The order date is set up front, so only the pricing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderAmountsBenchmark {
+
+    private static final int ORDERS = 1024;
+
+    private final BigDecimal[] amounts = new BigDecimal[ORDERS];
+    private final Customer[] customers = new Customer[ORDERS];
+    private final LocalDateTime orderDate = LocalDateTime.now();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < ORDERS; i++) {
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+            customers[i] = Customer.builder()
+                .id((long) i)
+                .tier(CustomerTier.values()[random.nextInt(CustomerTier.values().length)])
+                .build();
+        }
+    }
+
+    @Benchmark
+    public void calculateAmounts(Blackhole blackhole) {
+        int i = next++ & (ORDERS - 1);
+        Order order = Order.builder()
+            .customer(customers[i])
+            .amount(amounts[i])
+            .orderDate(orderDate)
+            .build();
+        order.prePersist();
+        blackhole.consume(order.getDiscountAmount());
+        blackhole.consume(order.getFinalAmount());
+    }
+}
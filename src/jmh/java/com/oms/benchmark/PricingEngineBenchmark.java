@@ -0,0 +1,62 @@
+package com.oms.benchmark;
+
+import com.oms.dto.OrderPrice;
+import com.oms.entity.CustomerTier;
+import com.oms.entity.Order;
+import com.oms.service.PricingEngine;
+import com.oms.service.impl.MinorUnitPricingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices the same random order amounts with {@link Order#applyDiscount} and {@link MinorUnitPricingEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingEngineBenchmark {
+
+    private static final int AMOUNTS = 1024;
+
+    private final BigDecimal[] amounts = new BigDecimal[AMOUNTS];
+    private final CustomerTier[] tiers = new CustomerTier[AMOUNTS];
+    private PricingEngine pricingEngine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+            tiers[i] = CustomerTier.values()[random.nextInt(CustomerTier.values().length)];
+        }
+        pricingEngine = new MinorUnitPricingEngine(MinorUnitPricingEngine.defaultRates());
+    }
+
+    @Benchmark
+    public void bigDecimalDiscount(Blackhole blackhole) {
+        int i = next++ & (AMOUNTS - 1);
+        Order order = Order.builder().amount(amounts[i]).build();
+        order.applyDiscount(tiers[i]);
+        blackhole.consume(order.getDiscountAmount());
+        blackhole.consume(order.getFinalAmount());
+    }
+
+    @Benchmark
+    public void minorUnitEngine(Blackhole blackhole) {
+        int i = next++ & (AMOUNTS - 1);
+        OrderPrice price = pricingEngine.price(amounts[i], tiers[i]);
+        blackhole.consume(price.discountAmount());
+        blackhole.consume(price.finalAmount());
+    }
+}
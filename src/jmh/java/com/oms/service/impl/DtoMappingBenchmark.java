@@ -0,0 +1,69 @@
+package com.oms.service.impl;
+
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.OrderDTO;
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import com.oms.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of {@link OrderServiceImpl} and {@link CustomerServiceImpl}, which runs once per row on every
+ * entity-based read and write. In this package because the mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private static final int ENTITIES = 1024;
+
+    private final Order[] orders = new Order[ENTITIES];
+    private final Customer[] customers = new Customer[ENTITIES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < ENTITIES; i++) {
+            customers[i] = Customer.builder()
+                .id((long) i)
+                .name("Customer " + i)
+                .email("customer" + i + "@example.com")
+                .tier(CustomerTier.values()[random.nextInt(CustomerTier.values().length)])
+                .totalOrders(random.nextInt(50))
+                .build();
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+            orders[i] = Order.builder()
+                .id((long) i)
+                .customer(customers[i])
+                .amount(amount)
+                .discountAmount(BigDecimal.ZERO)
+                .finalAmount(amount)
+                .orderDate(start.plusSeconds(random.nextInt(31_536_000)))
+                .build();
+        }
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return OrderServiceImpl.toDTO(orders[next++ & (ENTITIES - 1)]);
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDTO() {
+        return CustomerServiceImpl.toDTO(customers[next++ & (ENTITIES - 1)]);
+    }
+}
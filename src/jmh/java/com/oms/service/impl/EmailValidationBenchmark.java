@@ -0,0 +1,40 @@
+package com.oms.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomerServiceImpl#EMAIL_PATTERN} on the create, update and patch paths, for a typical address, a long one
+ * and one that is rejected only after the whole local part has been scanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailValidationBenchmark {
+
+    // Not final, so the inputs are not constant-folded into the benchmark methods
+    private String typicalEmail = "jane.doe+orders@example.com";
+    private String longEmail = "firstname.middlename.lastname.department+newsletter@mail.subdomain.example-company.co.uk";
+    private String invalidEmail = "jane.doe.without.any.domain.separator.example.com";
+
+    @Benchmark
+    public boolean typical() {
+        return CustomerServiceImpl.EMAIL_PATTERN.matcher(typicalEmail).matches();
+    }
+
+    @Benchmark
+    public boolean longAddress() {
+        return CustomerServiceImpl.EMAIL_PATTERN.matcher(longEmail).matches();
+    }
+
+    @Benchmark
+    public boolean invalid() {
+        return CustomerServiceImpl.EMAIL_PATTERN.matcher(invalidEmail).matches();
+    }
+}
@@ -0,0 +1,55 @@
+package com.oms.service.impl;
+
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering of {@link NotificationServiceImpl}: the text is built on the calling thread when a tier upgrade or
+ * progression alert is raised by {@code createOrder} or the tier progression scheduler. Sending is not measured; it
+ * happens after commit on the {@link NotificationDispatcher} workers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationFormattingBenchmark {
+
+    private Customer almostGold;
+    private Customer upgradedToPlatinum;
+
+    @Setup
+    public void setUp() {
+        almostGold = Customer.builder()
+            .id(1L)
+            .name("Jane Doe")
+            .email("jane.doe@example.com")
+            .tier(CustomerTier.REGULAR)
+            .totalOrders(9)
+            .build();
+        upgradedToPlatinum = Customer.builder()
+            .id(2L)
+            .name("John Doe")
+            .email("john.doe@example.com")
+            .tier(CustomerTier.PLATINUM)
+            .totalOrders(20)
+            .build();
+    }
+
+    @Benchmark
+    public String tierProgressionMessage() {
+        return NotificationServiceImpl.tierProgressionMessage(almostGold, 1);
+    }
+
+    @Benchmark
+    public String tierUpgradeMessage() {
+        return NotificationServiceImpl.tierUpgradeMessage(upgradedToPlatinum);
+    }
+}
@@ -0,0 +1,90 @@
+package com.oms.loadtest;
+
+import com.oms.config.ApiEndpoints;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requests of the load mix, named as in {@code -Dloadtest.mix}.
+ */
+enum Endpoint {
+
+    CREATE_ORDER("createOrder", 201) {
+        @Override
+        HttpRequest.Builder request(URI base, long customerId, int historyLimit) {
+            BigDecimal amount = BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(100, 50_001), 2);
+            return json(base.resolve(ApiEndpoints.ORDERS))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"customerId\":" + customerId + ",\"amount\":" + amount + "}"));
+        }
+    },
+
+    ORDERS_BY_CUSTOMER("ordersByCustomer", 200) {
+        @Override
+        HttpRequest.Builder request(URI base, long customerId, int historyLimit) {
+            // Newest orders first and limited, as a customer's order history page asks for them
+            return HttpRequest.newBuilder(base.resolve(ApiEndpoints.ORDERS + "/customer/" + customerId
+                    + "?sort=desc&limit=" + historyLimit))
+                .GET();
+        }
+    },
+
+    CUSTOMER_BY_ID("customerById", 200) {
+        @Override
+        HttpRequest.Builder request(URI base, long customerId, int historyLimit) {
+            return HttpRequest.newBuilder(base.resolve(ApiEndpoints.CUSTOMERS + "/" + customerId)).GET();
+        }
+    },
+
+    CREATE_CUSTOMER("createCustomer", 201) {
+        @Override
+        HttpRequest.Builder request(URI base, long customerId, int historyLimit) {
+            long n = CREATED_CUSTOMERS.incrementAndGet();
+            return json(base.resolve(ApiEndpoints.CUSTOMERS))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"name\":\"Load Customer " + n + "\",\"email\":\"created" + n + "@loadtest.example.com\"}"));
+        }
+    };
+
+    static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final AtomicLong CREATED_CUSTOMERS = new AtomicLong();
+
+    private final String key;
+    private final int expectedStatus;
+
+    Endpoint(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    /**
+     * Request for the given Zipf-selected customer; customer creates ignore it.
+     */
+    abstract HttpRequest.Builder request(URI base, long customerId, int historyLimit);
+
+    String key() {
+        return key;
+    }
+
+    boolean isSuccess(int status) {
+        return status == expectedStatus;
+    }
+
+    static Endpoint ofKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "' in loadtest.mix");
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+}
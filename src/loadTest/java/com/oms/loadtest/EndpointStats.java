@@ -0,0 +1,84 @@
+package com.oms.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one endpoint in microseconds. The response time runs from when the request was scheduled to start,
+ * so time spent queued behind a slow server counts, which corrects for coordinated omission. The service time runs
+ * from when it was actually sent, which is what a load generator that waits for responses would report.
+ * Failed requests (error statuses, timeouts, connection errors) are recorded like successful ones, since under
+ * overload they are the slowest requests, and are also counted as errors.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long scheduledNanos, long sentNanos, long completedNanos, boolean success) {
+        responseTime.recordValue(toMicros(completedNanos - scheduledNanos));
+        serviceTime.recordValue(toMicros(completedNanos - sentNanos));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void addTo(EndpointStats total) {
+        total.responseTime.add(responseTime);
+        total.serviceTime.add(serviceTime);
+        total.errors.add(errors.sum());
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-18s %9d %7d %10.1f | %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f %9.2f%n",
+            name,
+            responseTime.getTotalCount(),
+            errors.sum(),
+            (responseTime.getTotalCount() - errors.sum()) / seconds,
+            millis(responseTime, 50), millis(responseTime, 99), millis(responseTime, 99.9),
+            responseTime.getMaxValue() / 1000.0,
+            millis(serviceTime, 50), millis(serviceTime, 99), millis(serviceTime, 99.9));
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-18s %9s %7s %10s | %9s %9s %9s %9s | %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "ok/s",
+            "p50 ms", "p99 ms", "p99.9 ms", "max ms",
+            "svc p50", "svc p99", "svc p99.9");
+    }
+
+    /**
+     * Writes the response time distribution of all requests, failed ones included, in the .hgrm format,
+     * for the HdrHistogram plotter.
+     */
+    void writePercentileDistribution(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            responseTime.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
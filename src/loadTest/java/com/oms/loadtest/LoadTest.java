@@ -0,0 +1,225 @@
+package com.oms.loadtest;
+
+import com.oms.OrderManagementSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application against a Testcontainers PostgreSQL, seeds customers and drives a weighted mix of order and
+ * customer requests over HTTP, then reports throughput and p50/p99/p99.9 latency per endpoint, failed requests included. Every request has a
+ * scheduled start time derived from the target rate and its latency is measured from that time, so a stalled server
+ * is charged for the requests it kept from being sent. Settings are described in {@link LoadTestConfig}; run with
+ * {@code ./gradlew loadTest -Dloadtest.rate=1000}.
+ */
+public final class LoadTest {
+
+    private static final Duration START_DELAY = Duration.ofMillis(100);
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final URI base;
+    private final long[] customerIdsByRank;
+    private final ZipfDistribution customerRanks;
+    private final Endpoint[] endpointsByWeight;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    private LoadTest(LoadTestConfig config, HttpClient client, URI base, List<Long> customerIds) {
+        this.config = config;
+        this.client = client;
+        this.base = base;
+        // Ranks are assigned in a fixed random order, so the hot customers are spread over the id range
+        List<Long> shuffled = new ArrayList<>(customerIds);
+        Collections.shuffle(shuffled, new Random(42));
+        this.customerIdsByRank = shuffled.stream().mapToLong(Long::longValue).toArray();
+        this.customerRanks = new ZipfDistribution(customerIdsByRank.length, config.zipfExponent());
+
+        List<Endpoint> weighted = new ArrayList<>();
+        config.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+            stats.put(endpoint, new EndpointStats(endpoint.key()));
+        });
+        this.endpointsByWeight = weighted.toArray(Endpoint[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("oms_loadtest")
+                .withUsername("test")
+                .withPassword("test")) {
+            postgres.start();
+            try (ConfigurableApplicationContext app = startApplication(postgres, config);
+                 ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient client = HttpClient.newBuilder()
+                     .executor(clientExecutor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+                List<Long> customerIds = seedCustomers(app.getBean(JdbcTemplate.class), config.customers());
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                new LoadTest(config, client, URI.create("http://localhost:" + port), customerIds).run();
+            }
+        }
+    }
+
+    // Command line arguments, so they win over application.properties; config.appArgs() come last and win over these
+    private static ConfigurableApplicationContext startApplication(PostgreSQLContainer<?> postgres, LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+            "--spring.datasource.username=" + postgres.getUsername(),
+            "--spring.datasource.password=" + postgres.getPassword(),
+            "--spring.jpa.show-sql=false",
+            // An open workload keeps opening connections while the server is slow
+            "--server.tomcat.max-connections=20000",
+            "--server.tomcat.accept-count=10000",
+            "--logging.level.com.oms=WARN"
+        ));
+        args.addAll(config.appArgs());
+        return new SpringApplicationBuilder(OrderManagementSystemApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static List<Long> seedCustomers(JdbcTemplate jdbcTemplate, int customers) {
+        jdbcTemplate.update(
+            "INSERT INTO customers (name, email, tier, total_orders, version) " +
+            "SELECT 'Seeded Customer ' || i, 'seeded' || i || '@loadtest.example.com', 'REGULAR', 0, 0 " +
+            "FROM generate_series(1, ?) i",
+            customers);
+        return jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", Long.class);
+    }
+
+    private void run() throws IOException {
+        System.out.printf("%s model, %.0f requests/s%s, mix %s, %d customers (Zipf exponent %.2f), " +
+                "%d s warmup, %d s measured%n",
+            config.model(), config.rate(),
+            LoadTestConfig.CLOSED.equals(config.model()) ? " over " + config.clients() + " clients" : "",
+            config.mix(), customerIdsByRank.length, config.zipfExponent(),
+            config.warmup().toSeconds(), config.duration().toSeconds());
+
+        long start = System.nanoTime() + START_DELAY.toNanos();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (LoadTestConfig.OPEN.equals(config.model())) {
+                runOpen(executor, start, measureFrom, end);
+            } else {
+                runClosed(executor, start, measureFrom, end);
+            }
+        }
+        report((end - measureFrom) / 1e9);
+    }
+
+    /**
+     * One dispatcher starts every request at its scheduled time on its own virtual thread, however many are in flight.
+     */
+    private void runOpen(ExecutorService executor, long start, long measureFrom, long end) {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        SplittableRandom random = new SplittableRandom(7);
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                return;
+            }
+            sleepUntil(scheduled);
+            Endpoint endpoint = nextEndpoint(random);
+            long customerId = nextCustomerId(random);
+            executor.execute(() -> send(endpoint, customerId, scheduled, scheduled >= measureFrom));
+        }
+    }
+
+    /**
+     * Every client sends its requests on its own schedule of rate / clients per second. A client that falls behind
+     * sends the next request right away, and that request's latency still counts from its scheduled time.
+     */
+    private void runClosed(ExecutorService executor, long start, long measureFrom, long end) {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) * config.clients() / config.rate();
+        for (int c = 0; c < config.clients(); c++) {
+            // Clients are staggered over one interval, so they do not all fire at once
+            long offset = (long) (c * intervalNanos / config.clients());
+            SplittableRandom random = new SplittableRandom(7 + c);
+            executor.execute(() -> {
+                for (long i = 0; ; i++) {
+                    long scheduled = start + offset + (long) (i * intervalNanos);
+                    if (scheduled >= end) {
+                        return;
+                    }
+                    sleepUntil(scheduled);
+                    send(nextEndpoint(random), nextCustomerId(random), scheduled, scheduled >= measureFrom);
+                }
+            });
+        }
+    }
+
+    private void send(Endpoint endpoint, long customerId, long scheduled, boolean measured) {
+        HttpRequest request = endpoint.request(base, customerId, config.historyLimit())
+            .timeout(Endpoint.TIMEOUT)
+            .build();
+        long sent = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = endpoint.isSuccess(response.statusCode());
+        } catch (IOException ex) {
+            // Timeouts and connection errors, their latency counts like any other response
+            success = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            stats.get(endpoint).record(scheduled, sent, System.nanoTime(), success);
+        }
+    }
+
+    private Endpoint nextEndpoint(SplittableRandom random) {
+        return endpointsByWeight[random.nextInt(endpointsByWeight.length)];
+    }
+
+    private long nextCustomerId(SplittableRandom random) {
+        return customerIdsByRank[customerRanks.sample(random)];
+    }
+
+    private void report(double seconds) throws IOException {
+        System.out.printf("%nLatency from scheduled start (coordinated omission corrected) and service time " +
+            "from actual send, %.0f s measured%n", seconds);
+        EndpointStats.printHeader(System.out);
+        EndpointStats total = new EndpointStats("all");
+        for (EndpointStats endpointStats : stats.values()) {
+            endpointStats.print(System.out, seconds);
+            endpointStats.addTo(total);
+            endpointStats.writePercentileDistribution(config.reportDir());
+        }
+        total.print(System.out, seconds);
+        total.writePercentileDistribution(config.reportDir());
+        System.out.printf("Percentile distributions written to %s%n", config.reportDir().toAbsolutePath());
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.oms.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of one run, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param model         {@code open}: requests start at a constant arrival rate regardless of how many are still
+ *                      running; {@code closed}: a fixed number of clients, each paced to its share of the rate
+ * @param rate          requests per second over all endpoints
+ * @param clients       concurrent clients of the closed model
+ * @param duration      measured time, after the warmup
+ * @param warmup        time at full rate before measuring starts
+ * @param mix           relative weight of every endpoint
+ * @param customers     customers seeded before the run and drawn from for customer-keyed requests
+ * @param zipfExponent  skew of the customer selection, 0 for uniform
+ * @param historyLimit  {@code limit} of the order history requests
+ * @param appArgs       extra Spring Boot arguments, e.g. {@code --oms.order.concurrency-mode=STRIPED}
+ * @param reportDir     where the HdrHistogram percentile distributions are written
+ */
+record LoadTestConfig(
+    String model,
+    double rate,
+    int clients,
+    Duration duration,
+    Duration warmup,
+    Map<Endpoint, Integer> mix,
+    int customers,
+    double zipfExponent,
+    int historyLimit,
+    List<String> appArgs,
+    Path reportDir
+) {
+
+    static final String OPEN = "open";
+    static final String CLOSED = "closed";
+
+    LoadTestConfig {
+        if (!OPEN.equals(model) && !CLOSED.equals(model)) {
+            throw new IllegalArgumentException("loadtest.model must be '" + OPEN + "' or '" + CLOSED + "'");
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (clients < 1) {
+            throw new IllegalArgumentException("loadtest.clients must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            System.getProperty("loadtest.model", OPEN),
+            Double.parseDouble(System.getProperty("loadtest.rate", "500")),
+            Integer.getInteger("loadtest.clients", 200),
+            Duration.ofSeconds(Long.getLong("loadtest.seconds", 60)),
+            Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+            parseMix(System.getProperty("loadtest.mix",
+                "createOrder=40,ordersByCustomer=25,customerById=30,createCustomer=5")),
+            Integer.getInteger("loadtest.customers", 10_000),
+            Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "1.0")),
+            Integer.getInteger("loadtest.history-limit", 50),
+            Arrays.stream(System.getProperty("loadtest.app-args", "").trim().split("\\s+"))
+                .filter(arg -> !arg.isEmpty())
+                .toList(),
+            Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"))
+        );
+    }
+
+    // "createOrder=40,customerById=60"; endpoints left out get no requests
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix entries must look like createOrder=40");
+            }
+            weights.put(Endpoint.ofKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
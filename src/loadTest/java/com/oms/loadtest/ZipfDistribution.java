@@ -0,0 +1,37 @@
+package com.oms.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf-distributed ranks {@code 0..n-1}: rank {@code k} is drawn with probability proportional to
+ * {@code 1 / (k + 1)^exponent}. An exponent of 0 is uniform; around 1 a few hundred ranks get most of the draws.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("At least one rank is required");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // Not found gives -(insertion point) - 1, the first rank whose cumulative probability exceeds the draw
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -18,8 +18,12 @@ public final class ApiEndpoints {
         public static final String CREATE = "";  // POST /api/customers
         public static final String GET_BY_ID = "/{id}";  // GET /api/customers/{id}
         public static final String GET_BY_EMAIL = "/email/{email}";  // GET /api/customers/email/{email}
+        public static final String GET_STATS = "/{id}/stats";  // GET /api/customers/{id}/stats
         public static final String GET_ALL = "";  // GET /api/customers
+        public static final String GET_PAGE = "/page";  // GET /api/customers/page?after={id}&size={size}
+        public static final String STREAM = "/stream";  // GET /api/customers/stream (NDJSON)
         public static final String UPDATE = "/{id}";  // PUT /api/customers/{id}
+        public static final String PATCH = "/{id}";  // PATCH /api/customers/{id}
         public static final String DELETE = "/{id}";  // DELETE /api/customers/{id}
         
         private Customer() {
@@ -33,9 +37,13 @@ public final class ApiEndpoints {
      */
     public static final class Order {
         public static final String CREATE = "";  // POST /api/orders
+        public static final String CREATE_BATCH = "/batch";  // POST /api/orders/batch
         public static final String GET_BY_ID = "/{id}";  // GET /api/orders/{id}
-        public static final String GET_BY_CUSTOMER = "/customer/{customerId}";  // GET /api/orders/customer/{customerId}
+        public static final String GET_BY_CUSTOMER = "/customer/{customerId}";  // GET /api/orders/customer/{customerId}?from={from}&to={to}&sort={asc|desc}&limit={limit}
+        public static final String GET_CUSTOMER_SUMMARY = "/customer/{customerId}/summary";  // GET /api/orders/customer/{customerId}/summary?from={from}&to={to}
         public static final String GET_ALL = "";  // GET /api/orders
+        public static final String GET_PAGE = "/page";  // GET /api/orders/page?after={id}&size={size}
+        public static final String STREAM = "/stream";  // GET /api/orders/stream (NDJSON)
         
         private Order() {
             throw new AssertionError("Utility class - cannot be instantiated");
@@ -0,0 +1,11 @@
+package com.oms.config;
+
+/**
+ * Target of {@link ReplicaRoutingDataSource}.
+ */
+public enum DataSourceRole {
+    /** Every write and every read that must see the latest committed state. */
+    PRIMARY,
+    /** Read-only transactions the {@link com.oms.service.impl.ReplicaLagGuard} lets through. */
+    REPLICA
+}
@@ -0,0 +1,11 @@
+package com.oms.config;
+
+/**
+ * How primary keys of {@code orders} and {@code customers} are generated.
+ */
+public enum IdGenerationMode {
+    /** Database identity column, one INSERT round trip per entity and no insert batching. */
+    IDENTITY,
+    /** Pooled sequences ({@code orders_seq}, {@code customers_seq}), ids are reserved in blocks. */
+    SEQUENCE
+}
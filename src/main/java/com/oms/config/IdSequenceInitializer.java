@@ -0,0 +1,89 @@
+package com.oms.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the id sequences of the active {@link IdGenerationMode} past the highest existing id,
+ * so switching an existing database between IDENTITY and SEQUENCE never hands out a used id.
+ */
+@Component
+public class IdSequenceInitializer implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // table -> pooled sequence used in SEQUENCE mode
+    private static final Map<String, String> POOLED_SEQUENCES = Map.of(
+        "orders", "orders_seq",
+        "customers", "customers_seq"
+    );
+
+    // Injected so the schema is migrated and validated before we touch the sequences
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${oms.ids.mode:IDENTITY}")
+    private IdGenerationMode idMode;
+
+    @Value("${oms.ids.allocation-size:50}")
+    private int allocationSize;
+
+    @Override
+    public void afterPropertiesSet() {
+        POOLED_SEQUENCES.forEach((table, sequence) -> {
+            if (idMode == IdGenerationMode.SEQUENCE) {
+                seedPooledSequence(table, sequence);
+            } else {
+                seedIdentitySequence(table);
+            }
+        });
+    }
+
+    private void seedPooledSequence(String table, String sequence) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+            " START WITH 1 INCREMENT BY " + allocationSize);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + allocationSize);
+
+        long maxId = maxId(table);
+        Map<String, Object> state = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + sequence);
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        boolean isCalled = (Boolean) state.get("is_called");
+
+        // The pooled optimizer treats each value v as the block (v - allocationSize, v]
+        long nextHi = isCalled ? lastValue + allocationSize : lastValue;
+        if (nextHi - allocationSize < maxId) {
+            long seed = maxId + allocationSize;
+            jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?, false)", Long.class, sequence, seed);
+            logger.info("Seeded {} to {} (max {}.id = {})", sequence, seed, table, maxId);
+        }
+    }
+
+    private void seedIdentitySequence(String table) {
+        long maxId = maxId(table);
+        if (maxId == 0) {
+            return;
+        }
+        // Ids written while running in SEQUENCE mode bypass the identity sequence
+        jdbcTemplate.queryForObject(
+            "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), GREATEST(?, " +
+            "(SELECT last_value FROM pg_sequences " +
+            "WHERE schemaname || '.' || sequencename = pg_get_serial_sequence('" + table + "', 'id'))))",
+            Long.class, maxId);
+    }
+
+    private long maxId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.oms.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Application meters that need wiring into Hibernate and Spring MVC. The order, notification and tier progression
+ * meters are registered by the components that record them; HTTP, JVM and Hikari pool meters come from Actuator.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestStatementMetrics requestStatementMetrics;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.requestStatementMetrics = new RequestStatementMetrics(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementMetrics);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestStatementMetrics).addPathPatterns(ApiEndpoints.API_BASE + "/**");
+    }
+}
@@ -0,0 +1,14 @@
+package com.oms.config;
+
+/**
+ * How {@code createOrder} keeps {@code Customer.totalOrders} and {@code tier} consistent
+ * when orders for the same customer arrive concurrently.
+ */
+public enum OrderConcurrencyMode {
+    /** Single {@code UPDATE ... RETURNING} on the customer row, no entity read. */
+    ATOMIC,
+    /** Read-modify-write guarded by {@code Customer.version}, retried a bounded number of times. */
+    OPTIMISTIC,
+    /** Read-modify-write serialized per customer by an in-process striped lock (single instance only). */
+    STRIPED
+}
@@ -0,0 +1,74 @@
+package com.oms.config;
+
+import com.oms.service.impl.ReplicaLagGuard;
+import com.oms.service.impl.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Primary and replica connection pools behind one routing {@link DataSource}, active when
+ * {@code oms.datasource.replica.url} is set. The primary pool is configured by {@code spring.datasource.*} as before,
+ * the replica pool by {@code oms.datasource.replica.*}. Without a replica url Spring Boot's single pool is used.
+ */
+@Configuration
+@ConditionalOnProperty("oms.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("oms.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${oms.datasource.replica.url}") String url,
+                                              @Value("${oms.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${oms.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaLagGuard replicaLagGuard) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaLagGuard);
+        routingDataSource.setTargetDataSources(Map.of(
+            DataSourceRole.PRIMARY, primaryDataSource,
+            DataSourceRole.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                               ReplicaLagGuard replicaLagGuard,
+                                               @Value("${oms.datasource.replica.lag-poll-interval-ms:50}") long pollIntervalMillis,
+                                               @Value("${oms.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, replicaLagGuard, pollIntervalMillis, maxLagMillis);
+    }
+}
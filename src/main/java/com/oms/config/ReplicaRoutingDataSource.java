@@ -0,0 +1,27 @@
+package com.oms.config;
+
+import com.oms.service.impl.ReplicaLagGuard;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers choosing the target
+ * until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReplicaRoutingDataSource(ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagGuard.isReplicaReadAllowed()
+            ? DataSourceRole.REPLICA
+            : DataSourceRole.PRIMARY;
+    }
+}
@@ -0,0 +1,63 @@
+package com.oms.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements Hibernate prepares while an HTTP request is handled and records them as
+ * {@code oms.http.server.requests.statements}, tagged like {@code http.server.requests} by method and uri pattern.
+ * Statements are counted on the request thread only, so rows written by a streaming response body are not included,
+ * and neither are {@code JdbcTemplate} statements, which bypass Hibernate.
+ */
+public class RequestStatementMetrics implements StatementInspector, AsyncHandlerInterceptor {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.set(new int[1]);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The response continues on another thread, the count of this one would be incomplete
+        STATEMENTS.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        if (statements == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("oms.http.server.requests.statements")
+            .description("SQL statements prepared by Hibernate per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+            .register(meterRegistry)
+            .record(statements[0]);
+    }
+}
@@ -1,8 +1,12 @@
 package com.oms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.oms.config.ApiEndpoints;
 import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CursorPage;
 import com.oms.dto.CustomerDTO;
+import com.oms.dto.CustomerStatsDTO;
+import com.oms.dto.PatchCustomerRequest;
 import com.oms.dto.UpdateCustomerRequest;
 import com.oms.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,8 +17,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,6 +32,9 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(
         summary = "Create a new customer",
         description = "Creates a new customer with the provided details. Email must be unique."
@@ -55,6 +64,20 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getCustomerById(id));
     }
 
+    @Operation(
+        summary = "Get customer order stats",
+        description = "Lifetime order count, spend, discount and last order time of a customer, maintained as orders are placed"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stats found"),
+        @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @GetMapping(ApiEndpoints.Customer.GET_STATS)
+    public ResponseEntity<CustomerStatsDTO> getCustomerStats(
+            @Parameter(description = "Customer ID") @PathVariable Long id) {
+        return ResponseEntity.ok(customerService.getCustomerStats(id));
+    }
+
     @Operation(
         summary = "Get customer by email",
         description = "Retrieves a customer by their email address"
@@ -79,6 +102,38 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getAllCustomers());
     }
 
+    @Operation(
+        summary = "Get a page of customers",
+        description = "Keyset pagination ordered by id. Pass the returned nextCursor as 'after' to fetch the next page."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size")
+    })
+    @GetMapping(ApiEndpoints.Customer.GET_PAGE)
+    public ResponseEntity<CursorPage<CustomerDTO>> getCustomersPage(
+            @Parameter(description = "Return customers with an id greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-1000)") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(customerService.getCustomersPage(after, size));
+    }
+
+    @Operation(
+        summary = "Stream all customers",
+        description = "Streams every customer as newline-delimited JSON from a server-side database cursor"
+    )
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of customers")
+    @GetMapping(value = ApiEndpoints.Customer.STREAM, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        StreamingResponseBody body = outputStream -> {
+            try (NdjsonWriter<CustomerDTO> writer = new NdjsonWriter<>(objectMapper, outputStream)) {
+                customerService.streamAllCustomers(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(
         summary = "Update customer",
         description = "Updates an existing customer's information"
@@ -95,6 +150,22 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.updateCustomer(id, request));
     }
 
+    @Operation(
+        summary = "Partially update customer",
+        description = "Changes only the provided fields with a single targeted UPDATE; tier and order count are never touched"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Customer updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or email already exists"),
+        @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @PatchMapping(ApiEndpoints.Customer.PATCH)
+    public ResponseEntity<CustomerDTO> patchCustomer(
+            @Parameter(description = "Customer ID") @PathVariable Long id,
+            @Parameter(description = "Fields to change") @Valid @RequestBody PatchCustomerRequest request) {
+        return ResponseEntity.ok(customerService.patchCustomer(id, request));
+    }
+
     @Operation(
         summary = "Delete customer",
         description = "Deletes a customer by their ID"
@@ -0,0 +1,40 @@
+package com.oms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes one JSON document per line (application/x-ndjson) straight to the response stream.
+ */
+final class NdjsonWriter<T> implements Consumer<T>, AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream outputStream;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+        this.objectMapper = objectMapper;
+        this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.flush();
+    }
+}
@@ -1,8 +1,12 @@
 package com.oms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.oms.config.ApiEndpoints;
+import com.oms.dto.BatchOrderResponse;
 import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.CursorPage;
 import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderSummaryDTO;
 import com.oms.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +15,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,6 +34,9 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(
         summary = "Create a new order",
         description = "Creates a new order for a customer with automatic discount application based on customer tier"
@@ -40,6 +52,23 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    @Operation(
+        summary = "Create orders in bulk",
+        description = "Creates many orders in a single request using JDBC batch inserts. " +
+            "Each item is validated independently and reported with its own result."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Batch processed, at least one order created"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch, or every item was rejected")
+    })
+    @PostMapping(ApiEndpoints.Order.CREATE_BATCH)
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @Parameter(description = "Order details") @RequestBody List<CreateOrderRequest> requests) {
+        BatchOrderResponse response = orderService.createOrders(requests);
+        HttpStatus status = response.accepted() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @Operation(
         summary = "Get order by ID",
         description = "Retrieves an order by its unique identifier"
@@ -56,16 +85,44 @@ public class OrderController {
 
     @Operation(
         summary = "Get orders by customer ID",
-        description = "Retrieves all orders for a specific customer"
+        description = "Retrieves the orders of a customer placed in the optional [from, to) range, " +
+            "ordered by order date, optionally limited to the first orders in that order"
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Orders found"),
+        @ApiResponse(responseCode = "400", description = "Invalid range, sort or limit"),
         @ApiResponse(responseCode = "404", description = "Customer not found")
     })
     @GetMapping(ApiEndpoints.Order.GET_BY_CUSTOMER)
     public ResponseEntity<List<OrderDTO>> getOrdersByCustomerId(
-            @Parameter(description = "Customer ID") @PathVariable Long customerId) {
-        return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId));
+            @Parameter(description = "Customer ID") @PathVariable Long customerId,
+            @Parameter(description = "Only orders placed at or after this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only orders placed before this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Order date direction, asc or desc") @RequestParam(defaultValue = "asc") String sort,
+            @Parameter(description = "Maximum number of orders (1-1000), all when omitted") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId, from, to, Sort.Direction.fromString(sort), limit));
+    }
+
+    @Operation(
+        summary = "Summarize the orders of a customer",
+        description = "Order count, totals of amount, discount and final amount and the first and last order date " +
+            "of the orders placed in the optional [from, to) range, computed by the database in one aggregate query"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Summary computed"),
+        @ApiResponse(responseCode = "400", description = "Invalid range"),
+        @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @GetMapping(ApiEndpoints.Order.GET_CUSTOMER_SUMMARY)
+    public ResponseEntity<OrderSummaryDTO> getOrderSummary(
+            @Parameter(description = "Customer ID") @PathVariable Long customerId,
+            @Parameter(description = "Only orders placed at or after this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only orders placed before this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(orderService.getOrderSummary(customerId, from, to));
     }
 
     @Operation(
@@ -77,4 +134,36 @@ public class OrderController {
     public ResponseEntity<List<OrderDTO>> getAllOrders() {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
+
+    @Operation(
+        summary = "Get a page of orders",
+        description = "Keyset pagination ordered by id. Pass the returned nextCursor as 'after' to fetch the next page."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size")
+    })
+    @GetMapping(ApiEndpoints.Order.GET_PAGE)
+    public ResponseEntity<CursorPage<OrderDTO>> getOrdersPage(
+            @Parameter(description = "Return orders with an id greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-1000)") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(orderService.getOrdersPage(after, size));
+    }
+
+    @Operation(
+        summary = "Stream all orders",
+        description = "Streams every order as newline-delimited JSON from a server-side database cursor"
+    )
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of orders")
+    @GetMapping(value = ApiEndpoints.Order.STREAM, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        StreamingResponseBody body = outputStream -> {
+            try (NdjsonWriter<OrderDTO> writer = new NdjsonWriter<>(objectMapper, outputStream)) {
+                orderService.streamAllOrders(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.oms.dto;
+
+import lombok.Builder;
+
+@Builder
+public record BatchOrderItemResult(
+    int index,
+
+    OrderDTO order,
+
+    String error
+) {
+    public static BatchOrderItemResult success(int index, OrderDTO order) {
+        return new BatchOrderItemResult(index, order, null);
+    }
+
+    public static BatchOrderItemResult failure(int index, String error) {
+        return new BatchOrderItemResult(index, null, error);
+    }
+}
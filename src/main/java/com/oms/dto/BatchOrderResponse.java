@@ -0,0 +1,13 @@
+package com.oms.dto;
+
+import lombok.Builder;
+import java.util.List;
+
+@Builder
+public record BatchOrderResponse(
+    int accepted,
+
+    int rejected,
+
+    List<BatchOrderItemResult> results
+) {}
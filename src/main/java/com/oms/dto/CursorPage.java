@@ -0,0 +1,13 @@
+package com.oms.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (id cursor) listing.
+ * {@code nextCursor} is the id to pass as {@code after} for the next page, {@code null} on the last page.
+ */
+public record CursorPage<T>(
+    List<T> items,
+
+    Long nextCursor
+) {}
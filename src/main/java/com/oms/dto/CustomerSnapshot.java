@@ -0,0 +1,52 @@
+package com.oms.dto;
+
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import lombok.Builder;
+
+/**
+ * Immutable copy of the customer fields the read and order paths need, safe to share between threads.
+ */
+@Builder(toBuilder = true)
+public record CustomerSnapshot(
+    Long id,
+
+    String name,
+
+    String email,
+
+    CustomerTier tier,
+
+    Integer totalOrders
+) {
+    public static CustomerSnapshot of(Customer customer) {
+        return new CustomerSnapshot(
+            customer.getId(),
+            customer.getName(),
+            customer.getEmail(),
+            customer.getTier(),
+            customer.getTotalOrders()
+        );
+    }
+
+    public CustomerDTO toDTO() {
+        return CustomerDTO.builder()
+            .id(id)
+            .name(name)
+            .email(email)
+            .tier(tier)
+            .totalOrders(totalOrders)
+            .build();
+    }
+
+    // Detached entity for the notification templates, never to be saved
+    public Customer toCustomer() {
+        return Customer.builder()
+            .id(id)
+            .name(name)
+            .email(email)
+            .tier(tier)
+            .totalOrders(totalOrders)
+            .build();
+    }
+}
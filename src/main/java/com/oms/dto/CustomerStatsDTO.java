@@ -0,0 +1,26 @@
+package com.oms.dto;
+
+import lombok.Builder;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lifetime order aggregates of a customer, maintained as orders are placed.
+ * {@code totalSpend} sums the final amounts, {@code lastOrderDate} is {@code null} before the first order.
+ */
+@Builder
+public record CustomerStatsDTO(
+    Long customerId,
+
+    long orderCount,
+
+    BigDecimal totalSpend,
+
+    BigDecimal totalDiscount,
+
+    LocalDateTime lastOrderDate
+) {
+    public static CustomerStatsDTO empty(Long customerId) {
+        return new CustomerStatsDTO(customerId, 0, BigDecimal.ZERO, BigDecimal.ZERO, null);
+    }
+}
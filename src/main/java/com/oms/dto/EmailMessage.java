@@ -0,0 +1,12 @@
+package com.oms.dto;
+
+import lombok.Builder;
+
+@Builder
+public record EmailMessage(
+    String to,
+
+    String subject,
+
+    String body
+) {}
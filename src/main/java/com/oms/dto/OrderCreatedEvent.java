@@ -0,0 +1,29 @@
+package com.oms.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderCreatedEvent(
+    Long orderId,
+
+    Long customerId,
+
+    BigDecimal amount,
+
+    BigDecimal discountAmount,
+
+    BigDecimal finalAmount,
+
+    LocalDateTime orderDate
+) {
+    public static OrderCreatedEvent of(OrderDTO order) {
+        return new OrderCreatedEvent(
+            order.id(),
+            order.customerId(),
+            order.amount(),
+            order.discountAmount(),
+            order.finalAmount(),
+            order.orderDate()
+        );
+    }
+}
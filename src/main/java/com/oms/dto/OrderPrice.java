@@ -0,0 +1,9 @@
+package com.oms.dto;
+
+import java.math.BigDecimal;
+
+public record OrderPrice(
+    BigDecimal discountAmount,
+
+    BigDecimal finalAmount
+) {}
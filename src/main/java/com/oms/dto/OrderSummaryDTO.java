@@ -0,0 +1,24 @@
+package com.oms.dto;
+
+import lombok.Builder;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Totals of the orders a customer placed in a date range.
+ * The sums are zero and both dates {@code null} when there are no orders.
+ */
+@Builder
+public record OrderSummaryDTO(
+    Long orderCount,
+
+    BigDecimal totalAmount,
+
+    BigDecimal totalDiscountAmount,
+
+    BigDecimal totalFinalAmount,
+
+    LocalDateTime firstOrderDate,
+
+    LocalDateTime lastOrderDate
+) {}
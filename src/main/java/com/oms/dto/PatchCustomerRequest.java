@@ -0,0 +1,15 @@
+package com.oms.dto;
+
+import jakarta.validation.constraints.Email;
+import lombok.Builder;
+
+/**
+ * Partial customer update, fields left null are not changed.
+ */
+@Builder
+public record PatchCustomerRequest(
+    String name,
+    
+    @Email(message = "Invalid email format")
+    String email
+) {}
@@ -0,0 +1,13 @@
+package com.oms.dto;
+
+import com.oms.entity.CustomerTier;
+
+public record TierUpgradedEvent(
+    Long customerId,
+
+    CustomerTier previousTier,
+
+    CustomerTier tier,
+
+    Integer totalOrders
+) {}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Data
 @Entity
@@ -14,6 +15,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "customers")
+// Flushes only the changed columns, so an order increment never rewrites name or email and vice versa
+@DynamicUpdate
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,7 +27,8 @@ public class Customer {
 
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email is required")
-    @Column(unique = true)
+    // Unique through the customers_email_lower_key index on lower(email), see db/migration
+    @Column(nullable = false)
     private String email;
 
     @Enumerated(EnumType.STRING)
@@ -34,6 +38,11 @@ public class Customer {
     @Builder.Default
     private Integer totalOrders = 0;
 
+    // Existing rows start at 0 when the column is added
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         if (tier == null) {
@@ -44,16 +53,8 @@ public class Customer {
         }
     }
 
-    public void incrementTotalOrders() {
+    public void incrementTotalOrders(TierRules tierRules) {
         this.totalOrders++;
-        updateTier();
-    }
-
-    private void updateTier() {
-        if (this.totalOrders >= 20) {
-            this.tier = CustomerTier.PLATINUM;
-        } else if (this.totalOrders >= 10) {
-            this.tier = CustomerTier.GOLD;
-        }
+        this.tier = tierRules.promote(this.tier, this.totalOrders);
     }
 } 
\ No newline at end of file
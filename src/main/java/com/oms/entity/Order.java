@@ -32,6 +32,8 @@ public class Order {
 
     private BigDecimal finalAmount;
 
+    // Partition key of orders, part of the primary key in the database
+    @Column(nullable = false)
     private LocalDateTime orderDate;
 
     @PrePersist
@@ -39,18 +41,25 @@ public class Order {
         if (orderDate == null) {
             orderDate = LocalDateTime.now();
         }
-        calculateAmounts();
+        // Orders priced up front by the service keep their amounts
+        if (finalAmount == null) {
+            calculateAmounts();
+        }
     }
 
-    private void calculateAmounts() {
+    public void applyDiscount(CustomerTier tier) {
         if (amount == null) {
             amount = BigDecimal.ZERO;
         }
         
-        BigDecimal discountPercentage = customer.getTier().getDiscountPercentage();  
+        BigDecimal discountPercentage = tier.getDiscountPercentage();  
         
         discountAmount = amount.multiply(discountPercentage).setScale(2, RoundingMode.HALF_UP);
         
         finalAmount = amount.subtract(discountAmount);
     }
+
+    private void calculateAmounts() {
+        applyDiscount(customer.getTier());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.oms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One customer id range of a nightly tier progression run.
+ * Instances lease partitions, process them and record their checkpoint here,
+ * so the run is spread over all replicas and survives any of them dying.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tier_progression_partitions",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"run_date", "partition_no"}))
+public class TierProgressionPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    @Column(nullable = false)
+    private Integer partitionNo;
+
+    @Column(nullable = false)
+    private Long fromId;
+
+    @Column(nullable = false)
+    private Long toId;
+
+    // Every id up to this one has been processed
+    @Column(nullable = false)
+    private Long lastProcessedId;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    private String owner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    private LocalDateTime finishedAt;
+
+    @Builder.Default
+    private int chunksProcessed = 0;
+
+    @Builder.Default
+    private long notificationsSent = 0;
+}
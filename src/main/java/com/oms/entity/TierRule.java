@@ -0,0 +1,27 @@
+package com.oms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Minimum number of orders for a tier. Rows override the configured thresholds and are picked up by
+ * every instance on its next refresh, see {@code TierRuleProvider}.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tier_rules")
+public class TierRule {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CustomerTier tier;
+
+    @Column(nullable = false)
+    private Integer minOrders;
+}
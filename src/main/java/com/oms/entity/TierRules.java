@@ -0,0 +1,125 @@
+package com.oms.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable tier thresholds with a lookup table from order count to tier, so promotion and
+ * "one order away" checks on the order path are array reads. Tiers are ranked in declaration order,
+ * the lowest starts at 0 orders and every further tier needs strictly more orders than the one below.
+ */
+public final class TierRules {
+
+    // Bounds the lookup table, one entry per order count up to the highest threshold
+    public static final int MAX_MIN_ORDERS = 1_000_000;
+
+    private static final CustomerTier[] TIERS = CustomerTier.values();
+
+    private final Map<CustomerTier, Integer> thresholds;
+    private final int[] minOrders = new int[TIERS.length];
+    private final CustomerTier[] tierByOrders;
+    private final List<ProgressionBand> progressionBands;
+
+    private TierRules(Map<CustomerTier, Integer> thresholds) {
+        this.thresholds = Collections.unmodifiableMap(new EnumMap<>(thresholds));
+        for (CustomerTier tier : TIERS) {
+            minOrders[tier.ordinal()] = thresholds.get(tier);
+        }
+
+        tierByOrders = new CustomerTier[minOrders[TIERS.length - 1] + 1];
+        for (int rank = 0; rank < TIERS.length; rank++) {
+            int upTo = rank + 1 < TIERS.length ? minOrders[rank + 1] : tierByOrders.length;
+            for (int orders = minOrders[rank]; orders < upTo; orders++) {
+                tierByOrders[orders] = TIERS[rank];
+            }
+        }
+
+        List<ProgressionBand> bands = new ArrayList<>(TIERS.length - 1);
+        for (int rank = 0; rank + 1 < TIERS.length; rank++) {
+            bands.add(new ProgressionBand(TIERS[rank], minOrders[rank + 1] - 1));
+        }
+        progressionBands = List.copyOf(bands);
+    }
+
+    public static TierRules of(Map<CustomerTier, Integer> thresholds) {
+        Map<CustomerTier, Integer> complete = new EnumMap<>(CustomerTier.class);
+        complete.putAll(thresholds);
+        complete.putIfAbsent(TIERS[0], 0);
+
+        int previous = -1;
+        for (CustomerTier tier : TIERS) {
+            Integer min = complete.get(tier);
+            if (min == null) {
+                throw new IllegalArgumentException("Minimum orders for " + tier + " are not configured");
+            }
+            if (tier == TIERS[0] ? min != 0 : min <= previous) {
+                throw new IllegalArgumentException(tier == TIERS[0]
+                    ? tier + " must start at 0 orders"
+                    : "Minimum orders for " + tier + " must be greater than " + previous);
+            }
+            if (min > MAX_MIN_ORDERS) {
+                throw new IllegalArgumentException("Minimum orders for " + tier + " must not exceed " + MAX_MIN_ORDERS);
+            }
+            previous = min;
+        }
+        return new TierRules(complete);
+    }
+
+    public static TierRules defaults() {
+        return of(Map.of(CustomerTier.GOLD, 10, CustomerTier.PLATINUM, 20));
+    }
+
+    public int getMinOrders(CustomerTier tier) {
+        return minOrders[tier.ordinal()];
+    }
+
+    public Map<CustomerTier, Integer> getThresholds() {
+        return thresholds;
+    }
+
+    public CustomerTier tierFor(int totalOrders) {
+        return totalOrders >= tierByOrders.length ? TIERS[TIERS.length - 1] : tierByOrders[Math.max(0, totalOrders)];
+    }
+
+    /**
+     * Tier after reaching {@code totalOrders}. Customers are never demoted, also not when thresholds are raised.
+     */
+    public CustomerTier promote(CustomerTier current, int totalOrders) {
+        CustomerTier earned = tierFor(totalOrders);
+        return earned.ordinal() > current.ordinal() ? earned : current;
+    }
+
+    /**
+     * Whether the next order promotes a customer who holds {@code tier} with {@code totalOrders} orders.
+     */
+    public boolean isOneOrderAway(CustomerTier tier, int totalOrders) {
+        return promote(tier, totalOrders + 1) != tier;
+    }
+
+    /**
+     * Tier and order count of the customers one order away from the next tier, one band per tier below the top.
+     */
+    public List<ProgressionBand> progressionBands() {
+        return progressionBands;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TierRules rules && thresholds.equals(rules.thresholds);
+    }
+
+    @Override
+    public int hashCode() {
+        return thresholds.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TierRules" + thresholds;
+    }
+
+    public record ProgressionBand(CustomerTier tier, int totalOrders) {}
+}
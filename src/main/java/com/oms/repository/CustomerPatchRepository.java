@@ -0,0 +1,11 @@
+package com.oms.repository;
+
+public interface CustomerPatchRepository {
+
+    /**
+     * Updates only the given non-null columns with a single UPDATE, without loading the customer.
+     *
+     * @return the number of updated rows, 0 when the customer does not exist
+     */
+    int patch(Long id, String name, String email);
+}
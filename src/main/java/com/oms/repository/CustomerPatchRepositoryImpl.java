@@ -0,0 +1,33 @@
+package com.oms.repository;
+
+import com.oms.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+// Spring Data fragment of CustomerRepository, so constraint violations are translated like any repository call
+class CustomerPatchRepositoryImpl implements CustomerPatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(Long id, String name, String email) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Customer> update = cb.createCriteriaUpdate(Customer.class);
+        Root<Customer> customer = update.from(Customer.class);
+        if (name != null) {
+            update.set(customer.<String>get("name"), name);
+        }
+        if (email != null) {
+            update.set(customer.<String>get("email"), email);
+        }
+        // tier, total_orders and version are left alone, so a concurrent order is neither lost nor forced to retry
+        update.where(cb.equal(customer.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -2,14 +2,53 @@ package com.oms.repository;
 
 import com.oms.entity.Customer;
 import com.oms.entity.CustomerTier;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerPatchRepository {
+    // Matches the case-insensitive unique index on lower(email)
+    @Query("SELECT c FROM Customer c WHERE lower(c.email) = lower(:email)")
     Optional<Customer> findByEmail(String email);
-    boolean existsByEmail(String email);
-    List<Customer> findByTierAndTotalOrders(CustomerTier tier, Integer totalOrders);
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Row locks taken in id order so concurrent batches cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id IN :ids ORDER BY c.id")
+    List<Customer> findAllByIdForUpdate(Collection<Long> ids);
+
+    // Counter increment and tier promotion in a single statement, mirrors Customer.incrementTotalOrders.
+    // Thresholds come from the current TierRules; a customer is never moved below the tier held
+    @Query(value = "UPDATE customers c " +
+                   "SET total_orders = c.total_orders + 1, " +
+                   "    tier = CASE WHEN c.total_orders + 1 >= :platinumMinOrders OR c.tier = 'PLATINUM' THEN 'PLATINUM' " +
+                   "                WHEN c.total_orders + 1 >= :goldMinOrders OR c.tier = 'GOLD' THEN 'GOLD' " +
+                   "                ELSE c.tier END, " +
+                   "    version = c.version + 1 " +
+                   "FROM (SELECT id, tier FROM customers WHERE id = :customerId FOR UPDATE) previous " +
+                   "WHERE c.id = previous.id " +
+                   "RETURNING c.total_orders AS \"totalOrders\", c.tier AS \"tier\", previous.tier AS \"previousTier\"",
+           nativeQuery = true)
+    Optional<TierChange> incrementTotalOrders(Long customerId, int goldMinOrders, int platinumMinOrders);
+
+    // One progression band within an id range, a single range scan of customers_tier_total_orders_id_idx
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Customer c WHERE c.tier = :tier AND c.totalOrders = :totalOrders " +
+           "AND c.id BETWEEN :fromId AND :toId ORDER BY c.id")
+    List<Customer> findTierProgressionCandidates(CustomerTier tier, int totalOrders, Long fromId, Long toId);
+
+    // Server-side cursor, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Customer> streamAllByOrderByIdAsc();
 } 
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.oms.repository;
+
+import com.oms.dto.CustomerStatsDTO;
+import com.oms.entity.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * The {@code customer_stats} read model.
+ * Orders are added with a single upsert that increments the row in place, so concurrent orders of a customer
+ * serialize on that row instead of reading and rewriting it. Callers must add an order in the transaction that
+ * inserts it, which is what lets {@link #repair} recompute a row without losing an increment.
+ * The stats are lifetime totals: orders of archived partitions stay counted through {@code archived_order_stats},
+ * into which a partition is folded by {@link #foldPartition} before it is detached. Drift checks and repairs add
+ * those rows to the orders of every partition not folded yet, so archiving never looks like drift.
+ */
+@Repository
+public class CustomerStatsRepository {
+
+    private static final String ADD_ORDERS_SQL =
+        "INSERT INTO customer_stats AS s (customer_id, order_count, total_spend, total_discount, last_order_date) " +
+        "VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT (customer_id) DO UPDATE SET " +
+        "order_count = s.order_count + EXCLUDED.order_count, " +
+        "total_spend = s.total_spend + EXCLUDED.total_spend, " +
+        "total_discount = s.total_discount + EXCLUDED.total_discount, " +
+        "last_order_date = greatest(s.last_order_date, EXCLUDED.last_order_date)";
+
+    private static final String FIND_SQL =
+        "SELECT customer_id, order_count, total_spend, total_discount, last_order_date " +
+        "FROM customer_stats WHERE customer_id = ?";
+
+    // Rows of a folded partition that is still attached are already counted in archived_order_stats
+    private static final String NOT_FOLDED =
+        "tableoid NOT IN (SELECT to_regclass(partition_name)::oid FROM archived_order_partitions " +
+        "                 WHERE to_regclass(partition_name) IS NOT NULL)";
+
+    // Customers of [fromId, toId] whose row differs from their orders, a missing row counting as zeros.
+    // A plain MVCC read: it takes no row locks and blocks neither order inserts nor stats updates.
+    private static final String FIND_DRIFTED_SQL =
+        "SELECT c.id FROM customers c " +
+        "LEFT JOIN customer_stats s ON s.customer_id = c.id " +
+        "LEFT JOIN (" +
+        "    SELECT customer_id, sum(order_count) AS order_count, sum(total_spend) AS total_spend, " +
+        "           sum(total_discount) AS total_discount, max(last_order_date) AS last_order_date " +
+        "    FROM (" +
+        "        SELECT customer_id, count(*) AS order_count, coalesce(sum(final_amount), 0) AS total_spend, " +
+        "               coalesce(sum(discount_amount), 0) AS total_discount, max(order_date) AS last_order_date " +
+        "        FROM orders WHERE customer_id BETWEEN ? AND ? AND " + NOT_FOLDED + " GROUP BY customer_id " +
+        "        UNION ALL " +
+        "        SELECT customer_id, order_count, total_spend, total_discount, last_order_date " +
+        "        FROM archived_order_stats WHERE customer_id BETWEEN ? AND ?" +
+        "    ) parts GROUP BY customer_id" +
+        ") o ON o.customer_id = c.id " +
+        "WHERE c.id BETWEEN ? AND ? " +
+        "AND (coalesce(s.order_count, 0) <> coalesce(o.order_count, 0) " +
+        "  OR coalesce(s.total_spend, 0) <> coalesce(o.total_spend, 0) " +
+        "  OR coalesce(s.total_discount, 0) <> coalesce(o.total_discount, 0) " +
+        "  OR s.last_order_date IS DISTINCT FROM o.last_order_date) " +
+        "ORDER BY c.id";
+
+    private static final String ENSURE_ROW_SQL =
+        "INSERT INTO customer_stats (customer_id) VALUES (?) ON CONFLICT (customer_id) DO NOTHING";
+
+    private static final String LOCK_ROW_SQL =
+        "SELECT customer_id FROM customer_stats WHERE customer_id = ? FOR UPDATE";
+
+    private static final String RECOMPUTE_SQL =
+        "UPDATE customer_stats SET (order_count, total_spend, total_discount, last_order_date) = (" +
+        "    SELECT coalesce(sum(order_count), 0), coalesce(sum(total_spend), 0), coalesce(sum(total_discount), 0), " +
+        "           max(last_order_date) " +
+        "    FROM (" +
+        "        SELECT count(*) AS order_count, coalesce(sum(final_amount), 0) AS total_spend, " +
+        "               coalesce(sum(discount_amount), 0) AS total_discount, max(order_date) AS last_order_date " +
+        "        FROM orders WHERE customer_id = ? AND " + NOT_FOLDED +
+        "        UNION ALL " +
+        "        SELECT order_count, total_spend, total_discount, last_order_date " +
+        "        FROM archived_order_stats WHERE customer_id = ?" +
+        "    ) parts" +
+        ") WHERE customer_id = ?";
+
+    private static final String RECORD_FOLDED_SQL =
+        "INSERT INTO archived_order_partitions (partition_name, archived_at) VALUES (?, localtimestamp) " +
+        "ON CONFLICT (partition_name) DO NOTHING";
+
+    private static final String FOLD_PARTITION_SQL =
+        "INSERT INTO archived_order_stats AS a (customer_id, order_count, total_spend, total_discount, last_order_date) " +
+        "SELECT customer_id, count(*), coalesce(sum(final_amount), 0), coalesce(sum(discount_amount), 0), max(order_date) " +
+        "FROM %s GROUP BY customer_id " +
+        "ON CONFLICT (customer_id) DO UPDATE SET " +
+        "order_count = a.order_count + EXCLUDED.order_count, " +
+        "total_spend = a.total_spend + EXCLUDED.total_spend, " +
+        "total_discount = a.total_discount + EXCLUDED.total_discount, " +
+        "last_order_date = greatest(a.last_order_date, EXCLUDED.last_order_date)";
+
+    private static final RowMapper<CustomerStatsDTO> STATS_MAPPER = (rs, rowNum) -> new CustomerStatsDTO(
+        rs.getLong("customer_id"),
+        rs.getLong("order_count"),
+        rs.getBigDecimal("total_spend"),
+        rs.getBigDecimal("total_discount"),
+        rs.getObject("last_order_date", LocalDateTime.class)
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Optional<CustomerStatsDTO> findByCustomerId(Long customerId) {
+        return jdbcTemplate.query(FIND_SQL, STATS_MAPPER, customerId).stream().findFirst();
+    }
+
+    /**
+     * Adds persisted orders to the stats of their customers, one upsert per customer.
+     * Customers are updated in id order so concurrent batches cannot deadlock on the stats rows.
+     */
+    public void addOrders(List<Order> orders) {
+        TreeMap<Long, CustomerStatsDTO> deltas = new TreeMap<>();
+        for (Order order : orders) {
+            CustomerStatsDTO delta = new CustomerStatsDTO(order.getCustomer().getId(), 1,
+                amountOrZero(order.getFinalAmount()), amountOrZero(order.getDiscountAmount()), order.getOrderDate());
+            deltas.merge(delta.customerId(), delta, CustomerStatsRepository::combine);
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (CustomerStatsDTO delta : deltas.values()) {
+            rows.add(new Object[]{
+                delta.customerId(),
+                delta.orderCount(),
+                delta.totalSpend(),
+                delta.totalDiscount(),
+                Timestamp.valueOf(delta.lastOrderDate())
+            });
+        }
+        if (rows.size() == 1) {
+            jdbcTemplate.update(ADD_ORDERS_SQL, rows.get(0));
+        } else if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_ORDERS_SQL, rows);
+        }
+    }
+
+    /**
+     * @return ids of the customers in {@code [fromId, toId]} whose stats do not match their orders
+     */
+    public List<Long> findDrifted(long fromId, long toId) {
+        return jdbcTemplate.queryForList(FIND_DRIFTED_SQL, Long.class, fromId, toId, fromId, toId, fromId, toId);
+    }
+
+    /**
+     * Recomputes the stats of one customer from its orders.
+     * The stats row is locked before the orders are read: an order committed earlier is counted by the recompute,
+     * an order still in flight is blocked on the row lock and adds its increment on top afterwards.
+     */
+    @Transactional
+    public void repair(Long customerId) {
+        jdbcTemplate.update(ENSURE_ROW_SQL, customerId);
+        jdbcTemplate.queryForList(LOCK_ROW_SQL, Long.class, customerId);
+        // Under READ COMMITTED this statement takes a new snapshot, after the lock was granted
+        jdbcTemplate.update(RECOMPUTE_SQL, customerId, customerId, customerId);
+    }
+
+    /**
+     * Adds the orders of a partition about to be archived to {@code archived_order_stats} and records the partition
+     * as folded, in one transaction, so drift checks switch from its rows to the folded totals atomically.
+     * A partition is folded once; a repeated call (a retried or concurrent archiving run) does nothing.
+     *
+     * @return whether the partition was folded by this call
+     */
+    @Transactional
+    public boolean foldPartition(String partitionName) {
+        if (jdbcTemplate.update(RECORD_FOLDED_SQL, partitionName) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(String.format(FOLD_PARTITION_SQL, partitionName));
+        return true;
+    }
+
+    public long findMaxCustomerId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM customers", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    private static CustomerStatsDTO combine(CustomerStatsDTO a, CustomerStatsDTO b) {
+        return new CustomerStatsDTO(a.customerId(), a.orderCount() + b.orderCount(),
+            a.totalSpend().add(b.totalSpend()), a.totalDiscount().add(b.totalDiscount()),
+            a.lastOrderDate().isAfter(b.lastOrderDate()) ? a.lastOrderDate() : b.lastOrderDate());
+    }
+
+    private static BigDecimal amountOrZero(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount;
+    }
+}
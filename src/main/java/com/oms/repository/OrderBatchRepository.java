@@ -0,0 +1,84 @@
+package com.oms.repository;
+
+import com.oms.config.IdGenerationMode;
+import com.oms.entity.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC write path for bulk order ingestion.
+ * Ids are reserved up front from the orders id sequence in a single round trip, so the
+ * inserts can be sent as real JDBC batches even when {@link Order} uses IDENTITY generation.
+ * In SEQUENCE mode whole pooled blocks are reserved, compatible with Hibernate's pooled optimizer.
+ */
+@Repository
+public class OrderBatchRepository {
+
+    private static final String ALLOCATE_IDS_SQL =
+        "SELECT nextval(pg_get_serial_sequence('orders', 'id')) FROM generate_series(1, ?)";
+
+    private static final String ALLOCATE_POOLED_BLOCKS_SQL =
+        "SELECT nextval('orders_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO orders (id, customer_id, amount, discount_amount, final_amount, order_date) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${oms.order.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Value("${oms.ids.mode:IDENTITY}")
+    private IdGenerationMode idMode;
+
+    @Value("${oms.ids.allocation-size:50}")
+    private int allocationSize;
+
+    /**
+     * Inserts already priced orders and assigns their generated ids.
+     * Must be called inside the surrounding service transaction.
+     */
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = idMode == IdGenerationMode.SEQUENCE
+            ? allocatePooledIds(orders.size())
+            : jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, orders, jdbcBatchSize, (ps, order) -> {
+            ps.setLong(1, order.getId());
+            ps.setLong(2, order.getCustomer().getId());
+            ps.setBigDecimal(3, order.getAmount());
+            ps.setBigDecimal(4, order.getDiscountAmount());
+            ps.setBigDecimal(5, order.getFinalAmount());
+            ps.setTimestamp(6, Timestamp.valueOf(order.getOrderDate()));
+        });
+    }
+
+    private List<Long> allocatePooledIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = Math.ceilDiv(count - ids.size(), allocationSize);
+            for (Long hi : jdbcTemplate.queryForList(ALLOCATE_POOLED_BLOCKS_SQL, Long.class, blocks)) {
+                // Each sequence value v owns the block (v - allocationSize, v]
+                for (long id = Math.max(1, hi - allocationSize + 1); id <= hi && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,23 @@
+package com.oms.repository;
+
+import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderSummaryDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderHistoryRepository {
+
+    /**
+     * Orders of a customer placed in {@code [from, to)}, ordered by order date and then id in the given direction.
+     * A {@code null} bound leaves that side of the range open.
+     */
+    List<OrderDTO> findHistory(Long customerId, LocalDateTime from, LocalDateTime to, Sort.Direction direction, Limit limit);
+
+    /**
+     * Count, amount totals and first and last order date of the same orders, computed by a single aggregate query.
+     */
+    OrderSummaryDTO summarize(Long customerId, LocalDateTime from, LocalDateTime to);
+}
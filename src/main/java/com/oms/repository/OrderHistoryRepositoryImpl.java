@@ -0,0 +1,89 @@
+package com.oms.repository;
+
+import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderSummaryDTO;
+import com.oms.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Spring Data fragment of OrderRepository
+@Transactional(readOnly = true)
+class OrderHistoryRepositoryImpl implements OrderHistoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderDTO> findHistory(Long customerId, LocalDateTime from, LocalDateTime to,
+                                      Sort.Direction direction, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderDTO> query = cb.createQuery(OrderDTO.class);
+        Root<Order> order = query.from(Order.class);
+        // customer.id is read from the foreign key column, the customer is never joined
+        query.select(cb.construct(OrderDTO.class,
+            order.get("id"),
+            order.get("customer").get("id"),
+            order.get("amount"),
+            order.get("discountAmount"),
+            order.get("finalAmount"),
+            order.get("orderDate")));
+        query.where(inRange(cb, order, customerId, from, to));
+        if (direction == Sort.Direction.DESC) {
+            query.orderBy(cb.desc(order.get("orderDate")), cb.desc(order.get("id")));
+        } else {
+            query.orderBy(cb.asc(order.get("orderDate")), cb.asc(order.get("id")));
+        }
+
+        TypedQuery<OrderDTO> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public OrderSummaryDTO summarize(Long customerId, LocalDateTime from, LocalDateTime to) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryDTO> query = cb.createQuery(OrderSummaryDTO.class);
+        Root<Order> order = query.from(Order.class);
+        Path<LocalDateTime> orderDate = order.get("orderDate");
+        query.select(cb.construct(OrderSummaryDTO.class,
+            cb.count(order),
+            cb.coalesce(cb.sum(order.<BigDecimal>get("amount")), BigDecimal.ZERO),
+            cb.coalesce(cb.sum(order.<BigDecimal>get("discountAmount")), BigDecimal.ZERO),
+            cb.coalesce(cb.sum(order.<BigDecimal>get("finalAmount")), BigDecimal.ZERO),
+            cb.least(orderDate),
+            cb.greatest(orderDate)));
+        query.where(inRange(cb, order, customerId, from, to));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // An open side of the range adds no predicate rather than a sentinel date or an "IS NULL OR" test,
+    // so the bounds that are given still prune the monthly partitions in generic plans
+    private static Predicate[] inRange(CriteriaBuilder cb, Root<Order> order, Long customerId,
+                                       LocalDateTime from, LocalDateTime to) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        predicates.add(cb.equal(order.get("customer").get("id"), customerId));
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("orderDate"), from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(order.get("orderDate"), to));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
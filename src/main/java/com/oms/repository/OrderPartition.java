@@ -0,0 +1,17 @@
+package com.oms.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A range partition of {@code orders}. {@code from} is null for the partition starting at MINVALUE.
+ */
+public record OrderPartition(
+    String name,
+
+    LocalDateTime from,
+
+    LocalDateTime to,
+
+    // A concurrent detach was interrupted and must be finalized
+    boolean detachPending
+) {}
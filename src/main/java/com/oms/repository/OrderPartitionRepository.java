@@ -0,0 +1,82 @@
+package com.oms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the monthly range partitions of {@code orders}.
+ * Every statement runs in autocommit: {@code DETACH PARTITION ... CONCURRENTLY} cannot run inside a transaction,
+ * and creating a partition only takes a brief lock on the parent table.
+ */
+@Repository
+public class OrderPartitionRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    private static final String PARTITIONS_SQL =
+        "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound, i.inhdetachpending " +
+        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+        "WHERE i.inhparent = 'orders'::regclass " +
+        "ORDER BY c.relname";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<OrderPartition> findPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            Matcher bound = RANGE_BOUND.matcher(rs.getString("bound"));
+            if (!bound.find()) {
+                throw new IllegalStateException("Unexpected bound of partition " + rs.getString("relname"));
+            }
+            return new OrderPartition(
+                rs.getString("relname"),
+                parseBound(bound.group(1)),
+                parseBound(bound.group(2)),
+                rs.getBoolean("inhdetachpending"));
+        });
+    }
+
+    /**
+     * @return the name of the partition, which is also returned when it already existed
+     */
+    public String createMonthlyPartition(YearMonth month) {
+        String name = "orders_" + month.format(PARTITION_SUFFIX);
+        jdbcTemplate.execute(String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF orders FOR VALUES FROM ('%s') TO ('%s')",
+            name, month.atDay(1), month.plusMonths(1).atDay(1)));
+        return name;
+    }
+
+    /**
+     * Detaches without blocking queries on {@code orders}; an interrupted detach is finalized instead.
+     */
+    public void detachPartition(OrderPartition partition) {
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + partition.name()
+            + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+    }
+
+    /**
+     * Moves a detached partition into the archive schema, from where it can be dumped or dropped.
+     */
+    public void archiveTable(String table, String archiveSchema) {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        jdbcTemplate.execute("ALTER TABLE " + table + " SET SCHEMA " + archiveSchema);
+    }
+
+    private static LocalDateTime parseBound(String bound) {
+        if ("MINVALUE".equals(bound) || "MAXVALUE".equals(bound)) {
+            return null;
+        }
+        return LocalDateTime.parse(bound.substring(1, bound.length() - 1), BOUND_FORMAT);
+    }
+}
@@ -1,16 +1,53 @@
 package com.oms.repository;
 
+import com.oms.dto.OrderDTO;
 import com.oms.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderHistoryRepository {
     @Query("SELECT o FROM Order o WHERE o.customer.id = :customerId")
     List<Order> findByCustomerId(Long customerId);
     
     @Query("SELECT COUNT(o) FROM Order o WHERE o.customer.id = :customerId")
     int countByCustomerId(Long customerId);
-} 
\ No newline at end of file
+
+    // Half-open range on the partition key, so only the monthly partitions overlapping [from, to) are scanned
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.customer.id = :customerId " +
+           "AND o.orderDate >= :from AND o.orderDate < :to")
+    long countByCustomerIdAndOrderDateRange(Long customerId, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT new com.oms.dto.OrderDTO(o.id, o.customer.id, o.amount, o.discountAmount, o.finalAmount, o.orderDate) " +
+           "FROM Order o WHERE o.customer.id = :customerId AND o.orderDate >= :from AND o.orderDate < :to " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderDTO> findDTOsByCustomerIdAndOrderDateRange(Long customerId, LocalDateTime from, LocalDateTime to);
+
+    // DTO projections read customer_id straight from the orders table, so the lazy
+    // Order.customer association is never touched and no per-row SELECT can happen
+    @Query("SELECT new com.oms.dto.OrderDTO(o.id, o.customer.id, o.amount, o.discountAmount, o.finalAmount, o.orderDate) " +
+           "FROM Order o WHERE o.customer.id = :customerId ORDER BY o.id")
+    List<OrderDTO> findDTOsByCustomerId(Long customerId);
+
+    @Query("SELECT new com.oms.dto.OrderDTO(o.id, o.customer.id, o.amount, o.discountAmount, o.finalAmount, o.orderDate) " +
+           "FROM Order o ORDER BY o.id")
+    List<OrderDTO> findAllDTOs();
+
+    @Query("SELECT new com.oms.dto.OrderDTO(o.id, o.customer.id, o.amount, o.discountAmount, o.finalAmount, o.orderDate) " +
+           "FROM Order o WHERE o.id > :id ORDER BY o.id")
+    List<OrderDTO> findDTOsByIdGreaterThan(Long id, Limit limit);
+
+    // Server-side cursor, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.oms.dto.OrderDTO(o.id, o.customer.id, o.amount, o.discountAmount, o.finalAmount, o.orderDate) " +
+           "FROM Order o ORDER BY o.id")
+    Stream<OrderDTO> streamAllDTOs();
+}
@@ -0,0 +1,20 @@
+package com.oms.repository;
+
+import java.time.LocalDate;
+
+/**
+ * A tier progression partition currently leased by this instance.
+ */
+public record PartitionLease(
+    Long id,
+
+    LocalDate runDate,
+
+    int partitionNo,
+
+    long fromId,
+
+    long toId,
+
+    long lastProcessedId
+) {}
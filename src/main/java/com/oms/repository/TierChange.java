@@ -0,0 +1,15 @@
+package com.oms.repository;
+
+import com.oms.entity.CustomerTier;
+
+/**
+ * Result of {@link CustomerRepository#incrementTotalOrders(Long, int, int)}.
+ */
+public interface TierChange {
+    Integer getTotalOrders();
+
+    CustomerTier getTier();
+
+    // Tier before the increment, the one the new order is priced with
+    CustomerTier getPreviousTier();
+}
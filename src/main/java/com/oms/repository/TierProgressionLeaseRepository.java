@@ -0,0 +1,132 @@
+package com.oms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lease bookkeeping for the tier progression partitions.
+ * Leases expire on the database clock, so instances with skewed clocks still agree on ownership.
+ * Every write is guarded by the owner column: an instance that lost its lease to a takeover
+ * cannot move the checkpoint of the new owner.
+ */
+@Repository
+public class TierProgressionLeaseRepository {
+
+    // Arbitrary application-wide key for pg_advisory_xact_lock
+    private static final long CREATE_PARTITIONS_LOCK_KEY = 0x6f6d735f74696572L;
+
+    private static final String INSERT_PARTITION_SQL =
+        "INSERT INTO tier_progression_partitions " +
+        "(run_date, partition_no, from_id, to_id, last_processed_id, completed, chunks_processed, notifications_sent) " +
+        "VALUES (?, ?, ?, ?, ?, false, 0, 0)";
+
+    private static final String CLAIM_SQL =
+        "UPDATE tier_progression_partitions p " +
+        "SET owner = ?, lease_expires_at = localtimestamp + ? * interval '1 millisecond' " +
+        "WHERE p.id = (SELECT id FROM tier_progression_partitions " +
+        "              WHERE NOT completed AND (owner IS NULL OR lease_expires_at < localtimestamp) " +
+        "              ORDER BY run_date, partition_no " +
+        "              LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+        "RETURNING p.id, p.run_date, p.partition_no, p.from_id, p.to_id, p.last_processed_id";
+
+    private static final RowMapper<PartitionLease> LEASE_MAPPER = (rs, rowNum) -> new PartitionLease(
+        rs.getLong("id"),
+        rs.getObject("run_date", LocalDate.class),
+        rs.getInt("partition_no"),
+        rs.getLong("from_id"),
+        rs.getLong("to_id"),
+        rs.getLong("last_processed_id")
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Splits the current customer id space into partitions for the given run.
+     * Only the first instance to arrive creates them; the others find them in place. Partitions of earlier runs are
+     * deleted, unfinished ones included: the new run covers the same customers, so resuming an old partition would
+     * remind them twice. An instance still working on one loses its lease at the next checkpoint.
+     *
+     * @return whether this call created the partitions
+     */
+    @Transactional
+    public boolean createPartitions(LocalDate runDate, int partitions) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + CREATE_PARTITIONS_LOCK_KEY + ")");
+
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM tier_progression_partitions WHERE run_date = ?", Integer.class, runDate);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+
+        jdbcTemplate.update("DELETE FROM tier_progression_partitions WHERE run_date < ?", runDate);
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM customers", Long.class);
+        long width = Math.max(1, (maxId + partitions - 1) / partitions);
+        List<Object[]> rows = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions && i * width < maxId; i++) {
+            long fromId = i * width + 1;
+            long toId = Math.min(maxId, (i + 1) * width);
+            rows.add(new Object[]{runDate, i, fromId, toId, fromId - 1});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PARTITION_SQL, rows);
+        }
+        return true;
+    }
+
+    /**
+     * Leases the oldest unfinished partition that is free or whose owner stopped heartbeating.
+     */
+    public Optional<PartitionLease> claim(String owner, long leaseMillis) {
+        return jdbcTemplate.query(CLAIM_SQL, LEASE_MAPPER, owner, leaseMillis).stream().findFirst();
+    }
+
+    public boolean hasClaimablePartitions() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM tier_progression_partitions " +
+            "WHERE NOT completed AND (owner IS NULL OR lease_expires_at < localtimestamp))", Boolean.class));
+    }
+
+    /**
+     * Advances the checkpoint and extends the lease.
+     *
+     * @return false when the lease was taken over by another instance
+     */
+    public boolean checkpoint(Long partitionId, String owner, long lastProcessedId, int chunks,
+                              long notifications, long leaseMillis) {
+        return jdbcTemplate.update(
+            "UPDATE tier_progression_partitions " +
+            "SET last_processed_id = ?, chunks_processed = chunks_processed + ?, " +
+            "    notifications_sent = notifications_sent + ?, " +
+            "    lease_expires_at = localtimestamp + ? * interval '1 millisecond' " +
+            "WHERE id = ? AND owner = ?",
+            lastProcessedId, chunks, notifications, leaseMillis, partitionId, owner) == 1;
+    }
+
+    public boolean complete(Long partitionId, String owner) {
+        return jdbcTemplate.update(
+            "UPDATE tier_progression_partitions SET completed = true, finished_at = localtimestamp " +
+            "WHERE id = ? AND owner = ?",
+            partitionId, owner) == 1;
+    }
+
+    /**
+     * Extends every unfinished lease held by the owner.
+     */
+    public int renewLeases(String owner, long leaseMillis) {
+        return jdbcTemplate.update(
+            "UPDATE tier_progression_partitions " +
+            "SET lease_expires_at = localtimestamp + ? * interval '1 millisecond' " +
+            "WHERE owner = ? AND NOT completed",
+            leaseMillis, owner);
+    }
+}
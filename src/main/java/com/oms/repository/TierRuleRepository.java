@@ -0,0 +1,10 @@
+package com.oms.repository;
+
+import com.oms.entity.CustomerTier;
+import com.oms.entity.TierRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TierRuleRepository extends JpaRepository<TierRule, CustomerTier> {
+}
@@ -1,15 +1,23 @@
 package com.oms.service;
 
+import com.oms.dto.CursorPage;
 import com.oms.dto.CustomerDTO;
 import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerStatsDTO;
+import com.oms.dto.PatchCustomerRequest;
 import com.oms.dto.UpdateCustomerRequest;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     CustomerDTO createCustomer(CreateCustomerRequest request);
     CustomerDTO getCustomerById(Long id);
     CustomerDTO getCustomerByEmail(String email);
+    CustomerStatsDTO getCustomerStats(Long id);
     List<CustomerDTO> getAllCustomers();
+    CursorPage<CustomerDTO> getCustomersPage(Long after, int size);
+    void streamAllCustomers(Consumer<CustomerDTO> consumer);
     void deleteCustomer(Long id);
     CustomerDTO updateCustomer(Long id, UpdateCustomerRequest request);
+    CustomerDTO patchCustomer(Long id, PatchCustomerRequest request);
 } 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.oms.service;
+
+import com.oms.dto.EmailMessage;
+import java.util.List;
+
+public interface EmailSender {
+    // Sends the whole batch or throws, a failed batch is retried as a unit.
+    // The list is reused by the caller and must not be kept after returning.
+    void send(List<EmailMessage> batch);
+} 
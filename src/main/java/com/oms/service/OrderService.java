@@ -1,12 +1,23 @@
 package com.oms.service;
 
+import com.oms.dto.BatchOrderResponse;
 import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.CursorPage;
 import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderSummaryDTO;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
     OrderDTO createOrder(CreateOrderRequest request);
+    BatchOrderResponse createOrders(List<CreateOrderRequest> requests);
     OrderDTO getOrderById(Long id);
     List<OrderDTO> getOrdersByCustomerId(Long customerId);
+    List<OrderDTO> getOrdersByCustomerId(Long customerId, LocalDateTime from, LocalDateTime to, Sort.Direction direction, Integer limit);
+    OrderSummaryDTO getOrderSummary(Long customerId, LocalDateTime from, LocalDateTime to);
     List<OrderDTO> getAllOrders();
+    CursorPage<OrderDTO> getOrdersPage(Long after, int size);
+    void streamAllOrders(Consumer<OrderDTO> consumer);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.oms.service;
+
+import com.oms.entity.OutboxEvent;
+import java.util.List;
+
+public interface OutboxEventPublisher {
+    // Throwing leaves the whole batch in the outbox for the next relay run
+    void publish(List<OutboxEvent> events);
+} 
@@ -0,0 +1,14 @@
+package com.oms.service;
+
+import com.oms.dto.OrderPrice;
+import com.oms.entity.CustomerTier;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices an order for the tier the customer had when placing it.
+ * Implementations must round the discount to cents HALF_UP, like {@code Order.applyDiscount}.
+ */
+public interface PricingEngine {
+    OrderPrice price(BigDecimal amount, CustomerTier tier);
+}
@@ -0,0 +1,201 @@
+package com.oms.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.oms.dto.CustomerSnapshot;
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import com.oms.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Read-through cache of {@link CustomerSnapshot}s, addressable by id and by email.
+ * Snapshots are stored once, by id; the email index only maps to the id and is checked against
+ * the snapshot, so a stale index entry can never return another customer.
+ * Writers change the cache only after their transaction commits: invalidating earlier would let a
+ * concurrent reader load and cache the pre-commit row again.
+ * Misses are loaded outside of Caffeine's compute, which holds a {@code ConcurrentHashMap} bin monitor and would
+ * pin a virtual request thread to its carrier for the whole query. A loaded snapshot is only stored when the
+ * customer was not invalidated while it was read, so a row loaded before a commit cannot outlive that commit's
+ * eviction. Invalidations are counted per stripe of customer ids, so changes to other customers do not discard a
+ * load by id; a load by email does not know the id up front and is discarded by any invalidation.
+ * Hits, misses, evictions and size of the snapshots are published as the {@code cache.*} meters tagged
+ * {@code cache=customers}.
+ */
+@Component
+public class CustomerCache {
+
+    private final CustomerRepository customerRepository;
+    private final Cache<Long, CustomerSnapshot> byId;
+    private final Cache<String, Long> idByEmail;
+    private static final int GENERATION_STRIPES = 4096;
+
+    // Invalidations per stripe of customer ids, of any customer, and of the whole cache
+    private final AtomicLongArray customerGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong clears = new AtomicLong();
+
+    public CustomerCache(CustomerRepository customerRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${oms.customer-cache.maximum-size:100000}") long maximumSize,
+                         @Value("${oms.customer-cache.ttl:PT5M}") Duration ttl) {
+        this.customerRepository = customerRepository;
+        this.idByEmail = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .<Long, CustomerSnapshot>removalListener((id, snapshot, cause) -> {
+                if (cause != RemovalCause.REPLACED && snapshot != null) {
+                    idByEmail.asMap().remove(emailKey(snapshot.email()), id);
+                }
+            })
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "customers");
+    }
+
+    public Optional<CustomerSnapshot> findById(Long id) {
+        CustomerSnapshot cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Concurrent misses of one customer each run the query, none of them waits inside the cache
+        long generation = generation(id);
+        return customerRepository.findById(id).map(customer -> cache(customer, () -> generation(id) == generation));
+    }
+
+    /**
+     * Cached snapshot without loading on a miss, for callers inside a write transaction
+     * whose uncommitted reads must not end up in the cache.
+     */
+    public Optional<CustomerSnapshot> getIfPresent(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    public Optional<CustomerSnapshot> findByEmail(String email) {
+        Long id = idByEmail.getIfPresent(emailKey(email));
+        if (id != null) {
+            CustomerSnapshot snapshot = byId.getIfPresent(id);
+            if (snapshot != null && snapshot.email().equalsIgnoreCase(email)) {
+                return Optional.of(snapshot);
+            }
+        }
+        long generation = invalidations.get();
+        return customerRepository.findByEmail(email)
+            .map(customer -> cache(customer, () -> invalidations.get() == generation));
+    }
+
+    /**
+     * Drops the customer once the current transaction commits, or right away outside of one.
+     */
+    public void evict(Long id) {
+        afterCommit(() -> {
+            invalidated(id);
+            byId.invalidate(id);
+        });
+    }
+
+    public void invalidateAll() {
+        clears.incrementAndGet();
+        invalidations.incrementAndGet();
+        byId.invalidateAll();
+    }
+
+    /**
+     * Applies the counter and tier of a committed order to a cached snapshot.
+     * Updates arriving out of order are ignored, the counter only grows. Counts as an invalidation of the customer,
+     * so a miss that read it before the order committed does not cache the old counter once this found nothing to patch.
+     */
+    public void recordOrder(Long id, CustomerTier tier, int totalOrders) {
+        afterCommit(() -> {
+            invalidated(id);
+            byId.asMap().computeIfPresent(id, (key, snapshot) ->
+                snapshot.totalOrders() < totalOrders
+                    ? snapshot.toBuilder().tier(tier).totalOrders(totalOrders).build()
+                    : snapshot);
+        });
+    }
+
+    public Stats getStats() {
+        CacheStats stats = byId.stats();
+        return new Stats(stats.hitCount(), stats.missCount(), stats.evictionCount(), byId.estimatedSize());
+    }
+
+    /**
+     * Changes whenever the customer's stripe or the whole cache is invalidated; both counters only grow,
+     * so their sum is unchanged only if neither moved.
+     */
+    private long generation(Long id) {
+        return clears.get() + customerGenerations.get(stripe(id));
+    }
+
+    private void invalidated(Long id) {
+        customerGenerations.incrementAndGet(stripe(id));
+        invalidations.incrementAndGet();
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    private CustomerSnapshot cache(Customer customer, BooleanSupplier unchanged) {
+        CustomerSnapshot snapshot = CustomerSnapshot.of(customer);
+        // Checked inside compute, which serializes with invalidate: an eviction either ran before and is seen
+        // here, or runs after and removes the snapshot
+        CustomerSnapshot cached = byId.asMap().compute(snapshot.id(), (id, current) ->
+            current != null || !unchanged.getAsBoolean() ? current : snapshot);
+        if (cached != null) {
+            index(cached);
+        }
+        return snapshot;
+    }
+
+    private void index(CustomerSnapshot snapshot) {
+        idByEmail.put(emailKey(snapshot.email()), snapshot.id());
+    }
+
+    // Emails are unique regardless of case, see the lower(email) index
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public record Stats(
+        long hits,
+        long misses,
+        long evictions,
+        long size
+    ) {}
+}
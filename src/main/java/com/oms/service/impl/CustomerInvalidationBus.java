@@ -0,0 +1,180 @@
+package com.oms.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Propagates customer cache invalidations between replicas over Postgres LISTEN/NOTIFY.
+ * Notifications are sent with {@code pg_notify} on the caller's connection, so Postgres delivers them
+ * only when the surrounding transaction commits and drops them on rollback. Every instance keeps one
+ * dedicated connection, outside of the pool, listening on the channel and evicts the ids it receives.
+ * After the listener (re)connects the whole local cache is dropped, since anything published while it
+ * was not listening is lost.
+ */
+@Component
+public class CustomerInvalidationBus {
+
+    static final String CHANNEL = "customer_invalidation";
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerInvalidationBus.class);
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    // Keeps payloads well below the 8000 byte NOTIFY limit
+    private static final int IDS_PER_NOTIFICATION = 400;
+
+    private final CustomerCache customerCache;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final long reconnectBackoffMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public CustomerInvalidationBus(CustomerCache customerCache,
+                                   ReplicaLagGuard replicaLagGuard,
+                                   JdbcTemplate jdbcTemplate,
+                                   DataSourceProperties dataSourceProperties,
+                                   @Value("${oms.customer-cache.invalidation.enabled:true}") boolean enabled,
+                                   @Value("${oms.customer-cache.invalidation.reconnect-backoff-ms:1000}") long reconnectBackoffMillis) {
+        this.customerCache = customerCache;
+        this.replicaLagGuard = replicaLagGuard;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.reconnectBackoffMillis = reconnectBackoffMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        // Platform thread: a LISTEN loop that lives as long as the application, blocked on its own DriverManager
+        // connection outside the pool, gains nothing from a virtual thread
+        listener = Thread.ofPlatform()
+            .name("customer-invalidation-listener")
+            .daemon(true)
+            .start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Tells the other replicas to drop the customers, once the current transaction commits.
+     */
+    public void publish(Collection<Long> customerIds) {
+        if (!enabled || customerIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(customerIds);
+        for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFICATION) {
+            String payload = nodeId + "|" + ids.subList(from, Math.min(ids.size(), from + IDS_PER_NOTIFICATION)).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+        }
+        published.add(ids.size());
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    public Stats getStats() {
+        return new Stats(published.sum(), received.sum(), reconnects.sum());
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                customerCache.invalidateAll();
+                listening = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        Arrays.stream(notifications).forEach(notification -> handle(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException ex) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                reconnects.increment();
+                logger.warn("Customer invalidation listener lost its connection, reconnecting", ex);
+                try {
+                    Thread.sleep(reconnectBackoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            // Own changes are applied to the local cache by the writer itself
+            return;
+        }
+        List<Long> ids = Arrays.stream(payload.substring(separator + 1).split(","))
+            .map(Long::valueOf)
+            .toList();
+        // Notifications usually arrive before the replica has replayed the change, so the reload goes to the primary
+        replicaLagGuard.recordWrites(ids);
+        ids.forEach(customerCache::evict);
+        received.add(ids.size());
+    }
+
+    /**
+     * Snapshot of the bus counters.
+     */
+    public record Stats(
+        long published,
+        long received,
+        long reconnects
+    ) {}
+}
@@ -0,0 +1,33 @@
+package com.oms.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks, a customer id always maps to the same stripe.
+ * Orders of one customer are serialized while different customers mostly land on different stripes.
+ */
+@Component
+public class CustomerLockStripes {
+
+    private final Lock[] stripes;
+
+    public CustomerLockStripes(@Value("${oms.order.striped.stripes:1024}") int stripeCount) {
+        if (stripeCount < 1 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two");
+        }
+        stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forCustomer(Long customerId) {
+        int hash = Long.hashCode(customerId);
+        hash ^= (hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -1,28 +1,58 @@
 package com.oms.service.impl;
 
+import com.oms.dto.CursorPage;
 import com.oms.dto.CustomerDTO;
 import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerSnapshot;
+import com.oms.dto.CustomerStatsDTO;
+import com.oms.dto.PatchCustomerRequest;
 import com.oms.dto.UpdateCustomerRequest;
 import com.oms.entity.Customer;
 import com.oms.repository.CustomerRepository;
+import com.oms.repository.CustomerStatsRepository;
 import com.oms.service.CustomerService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.regex.Pattern;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
     
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    static final int MAX_PAGE_SIZE = 1_000;
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+    private static final String UNIQUE_VIOLATION = "23505";
     
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerInvalidationBus customerInvalidationBus;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional
     public CustomerDTO createCustomer(CreateCustomerRequest request) {
@@ -38,38 +68,88 @@ public class CustomerServiceImpl implements CustomerService {
             throw new IllegalArgumentException("Invalid email format");
         }
         
-        if (customerRepository.existsByEmail(request.email())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-        
         Customer customer = Customer.builder()
             .name(request.name())
             .email(request.email())
             .totalOrders(0)
             .build();
         
-        return toDTO(customerRepository.save(customer));
+        CustomerDTO created = toDTO(saveWithUniqueEmail(customer));
+        replicaLagGuard.recordWrites(List.of(created.id()));
+        return created;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomerById(Long id) {
-        return customerRepository.findById(id)
-                .map(this::toDTO)
+        // A miss is loaded from the replica unless this instance changed the customer more recently than it replays
+        return replicaLagGuard.readCustomer(id, () -> customerCache.findById(id))
+                .map(CustomerSnapshot::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomerByEmail(String email) {
-        return customerRepository.findByEmail(email)
-                .map(this::toDTO)
+        // The customer id is only known after the lookup, so any recent write keeps it on the primary
+        return replicaLagGuard.readLatest(() -> customerCache.findByEmail(email))
+                .map(CustomerSnapshot::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CustomerStatsDTO getCustomerStats(Long id) {
+        // One primary key lookup; the customer is only checked when it has no stats row yet
+        return replicaLagGuard.readCustomer(id, () -> customerStatsRepository.findByCustomerId(id)
+                .orElseGet(() -> {
+                    if (!customerRepository.existsById(id)) {
+                        throw new EntityNotFoundException("Customer not found");
+                    }
+                    return CustomerStatsDTO.empty(id);
+                }));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return replicaLagGuard.readLatest(() -> customerRepository.findAll().stream()
+                .map(CustomerServiceImpl::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerDTO> getCustomersPage(Long after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        List<CustomerDTO> items = replicaLagGuard.readLatest(() ->
+                customerRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size))
+                        .stream()
+                        .map(CustomerServiceImpl::toDTO)
+                        .collect(Collectors.toList()));
+        Long nextCursor = items.size() == size ? items.get(items.size() - 1).id() : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<CustomerDTO> consumer) {
+        replicaLagGuard.readLatest(() -> {
+            try (Stream<Customer> customers = customerRepository.streamAllByOrderByIdAsc()) {
+                int[] streamed = {0};
+                customers.forEach(customer -> {
+                    consumer.accept(toDTO(customer));
+                    // Keep the persistence context from growing with the table
+                    if (++streamed[0] % STREAM_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                });
+            }
+            return null;
+        });
     }
 
     @Override
@@ -79,6 +159,9 @@ public class CustomerServiceImpl implements CustomerService {
             throw new EntityNotFoundException("Customer not found");
         }
         customerRepository.deleteById(id);
+        customerCache.evict(id);
+        customerInvalidationBus.publish(List.of(id));
+        replicaLagGuard.recordWrites(List.of(id));
     }
 
     @Override
@@ -99,23 +182,73 @@ public class CustomerServiceImpl implements CustomerService {
         Customer existingCustomer = customerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
         
-        if (!existingCustomer.getEmail().equals(request.email()) && 
-            customerRepository.existsByEmail(request.email())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-        
         Customer updatedCustomer = Customer.builder()
             .id(existingCustomer.getId())
             .name(request.name())
             .email(request.email())
             .tier(existingCustomer.getTier())
             .totalOrders(existingCustomer.getTotalOrders())
+            .version(existingCustomer.getVersion())
             .build();
         
-        return toDTO(customerRepository.save(updatedCustomer));
+        updatedCustomer = saveWithUniqueEmail(updatedCustomer);
+        customerCache.evict(id);
+        customerInvalidationBus.publish(List.of(id));
+        replicaLagGuard.recordWrites(List.of(id));
+        return toDTO(updatedCustomer);
+    }
+
+    @Override
+    @Transactional
+    public CustomerDTO patchCustomer(Long id, PatchCustomerRequest request) {
+        if (request.name() == null && request.email() == null) {
+            throw new IllegalArgumentException("At least one field must be provided");
+        }
+        
+        if (request.name() != null && request.name().trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be blank");
+        }
+        
+        if (request.email() != null && !EMAIL_PATTERN.matcher(request.email()).matches()) {
+            throw new IllegalArgumentException("Invalid email format");
+        }
+        
+        int updated;
+        try {
+            updated = customerRepository.patch(id, request.name(), request.email());
+        } catch (DataIntegrityViolationException ex) {
+            throw translateUniqueViolation(ex);
+        }
+        if (updated == 0) {
+            throw new EntityNotFoundException("Customer not found");
+        }
+        
+        customerCache.evict(id);
+        customerInvalidationBus.publish(List.of(id));
+        replicaLagGuard.recordWrites(List.of(id));
+        return customerRepository.findById(id)
+                .map(CustomerServiceImpl::toDTO)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+    }
+
+    // The unique email index is the only duplicate check: no extra round trip and no race between check and write
+    private Customer saveWithUniqueEmail(Customer customer) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateUniqueViolation(ex);
+        }
+    }
+
+    private RuntimeException translateUniqueViolation(DataIntegrityViolationException ex) {
+        if (ex.getMostSpecificCause() instanceof SQLException sqlException
+                && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+            return new IllegalArgumentException("Email already exists");
+        }
+        return ex;
     }
 
-    private CustomerDTO toDTO(Customer customer) {
+    static CustomerDTO toDTO(Customer customer) {
         return CustomerDTO.builder()
             .id(customer.getId())
             .name(customer.getName())
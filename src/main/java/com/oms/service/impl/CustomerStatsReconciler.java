@@ -0,0 +1,81 @@
+package com.oms.service.impl;
+
+import com.oms.repository.CustomerStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Verifies {@code customer_stats} against {@code orders} (plus the folded totals of archived partitions) and repairs
+ * the rows that drifted.
+ * Customers are checked in id chunks of {@code chunk-size}; each chunk is one read-only aggregate query over the
+ * {@code orders (customer_id, order_date)} index, which takes no locks. Only drifted customers are repaired, each
+ * in its own short transaction holding the lock of that one stats row. Runs every
+ * {@code oms.customer-stats.reconcile-interval-ms}; replicas running it at the same time only repeat the check.
+ */
+@Component
+public class CustomerStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatsReconciler.class);
+
+    private final CustomerStatsRepository statsRepository;
+    private final int chunkSize;
+
+    public CustomerStatsReconciler(CustomerStatsRepository statsRepository,
+                                   @Value("${oms.customer-stats.reconcile-chunk-size:5000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("oms.customer-stats.reconcile-chunk-size must be at least 1");
+        }
+        this.statsRepository = statsRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${oms.customer-stats.reconcile-interval-ms:21600000}",
+               initialDelayString = "${oms.customer-stats.reconcile-interval-ms:21600000}")
+    public void reconcileAll() {
+        reconcile();
+    }
+
+    public ReconciliationResult reconcile() {
+        long maxId = statsRepository.findMaxCustomerId();
+        int chunks = 0;
+        int repaired = 0;
+        int failed = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long toId = Math.min(maxId, fromId + chunkSize - 1);
+            List<Long> drifted;
+            try {
+                drifted = statsRepository.findDrifted(fromId, toId);
+            } catch (DataAccessException ex) {
+                logger.warn("Could not check customer stats of ids {}-{}, skipping the chunk", fromId, toId, ex);
+                failed++;
+                continue;
+            }
+            chunks++;
+
+            for (Long customerId : drifted) {
+                try {
+                    statsRepository.repair(customerId);
+                    repaired++;
+                } catch (DataAccessException ex) {
+                    logger.warn("Could not repair the stats of customer {}", customerId, ex);
+                    failed++;
+                }
+            }
+        }
+
+        if (repaired > 0 || failed > 0) {
+            logger.warn("Customer stats reconciliation checked {} chunks, repaired {} customers, {} failures",
+                chunks, repaired, failed);
+        }
+        return new ReconciliationResult(chunks, repaired, failed);
+    }
+
+    public record ReconciliationResult(int chunks, int repaired, int failed) {}
+}
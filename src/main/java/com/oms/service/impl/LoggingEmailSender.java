@@ -0,0 +1,26 @@
+package com.oms.service.impl;
+
+import com.oms.dto.EmailMessage;
+import com.oms.service.EmailSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class LoggingEmailSender implements EmailSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingEmailSender.class);
+
+    @Override
+    public void send(List<EmailMessage> batch) {
+        // Dummy implementation - in production, this would use JavaMailSender or similar
+        for (EmailMessage message : batch) {
+            logger.info("Sending email to: {}", message.to());
+            logger.info("Subject: {}", message.subject());
+            logger.info("Message: {}", message.body());
+            System.out.println("Sent mail to customer: " + message.to());
+        }
+    }
+}
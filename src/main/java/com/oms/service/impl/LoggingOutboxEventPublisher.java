@@ -0,0 +1,24 @@
+package com.oms.service.impl;
+
+import com.oms.entity.OutboxEvent;
+import com.oms.service.OutboxEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class LoggingOutboxEventPublisher implements OutboxEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxEventPublisher.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        // Placeholder - in production, this would forward to a message broker
+        for (OutboxEvent event : events) {
+            logger.info("Publishing {} for {} {}: {}",
+                event.getEventType(), event.getAggregateType(), event.getAggregateId(), event.getPayload());
+        }
+    }
+}
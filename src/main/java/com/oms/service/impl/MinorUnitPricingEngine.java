@@ -0,0 +1,90 @@
+package com.oms.service.impl;
+
+import com.oms.dto.OrderPrice;
+import com.oms.entity.CustomerTier;
+import com.oms.service.PricingEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prices orders in long cents with discount rates pre-converted to basis points.
+ * For amounts with at most two decimals and below 10^12 the discount is
+ * {@code (cents * bps + 5000) / 10000}, which is HALF_UP rounding to the cent and exactly what
+ * {@code amount.multiply(rate).setScale(2, HALF_UP)} yields. Anything else (more decimals, huge or
+ * negative amounts, rates finer than a basis point) takes the BigDecimal path, so results never differ.
+ * Rates default to {@link CustomerTier#getDiscountPercentage()} and can be overridden per tier with
+ * {@code oms.pricing.discount-rate.<tier>}.
+ */
+@Component
+public class MinorUnitPricingEngine implements PricingEngine {
+
+    private static final long BPS_PER_UNIT = 10_000;
+    private static final long HALF_CENT_IN_BPS = BPS_PER_UNIT / 2;
+    // 10^12 units = 10^14 cents, times at most 10^4 bps stays below Long.MAX_VALUE
+    private static final int MAX_FAST_PATH_INTEGER_DIGITS = 12;
+    private static final long[] CENTS_PER_UNSCALED = {100, 10, 1};
+
+    private final BigDecimal[] discountRates = new BigDecimal[CustomerTier.values().length];
+    // -1 when the rate is not a whole number of basis points
+    private final long[] discountBps = new long[CustomerTier.values().length];
+
+    @Autowired
+    public MinorUnitPricingEngine(Environment environment) {
+        this(configuredRates(environment));
+    }
+
+    public MinorUnitPricingEngine(Map<CustomerTier, BigDecimal> rates) {
+        for (CustomerTier tier : CustomerTier.values()) {
+            BigDecimal rate = rates.getOrDefault(tier, tier.getDiscountPercentage());
+            if (rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalArgumentException("Discount rate of " + tier + " must be between 0 and 1");
+            }
+            discountRates[tier.ordinal()] = rate;
+            BigDecimal bps = rate.movePointRight(4);
+            discountBps[tier.ordinal()] = bps.stripTrailingZeros().scale() <= 0 ? bps.longValue() : -1;
+        }
+    }
+
+    public static Map<CustomerTier, BigDecimal> defaultRates() {
+        Map<CustomerTier, BigDecimal> rates = new EnumMap<>(CustomerTier.class);
+        for (CustomerTier tier : CustomerTier.values()) {
+            rates.put(tier, tier.getDiscountPercentage());
+        }
+        return rates;
+    }
+
+    @Override
+    public OrderPrice price(BigDecimal amount, CustomerTier tier) {
+        long bps = discountBps[tier.ordinal()];
+        int scale = amount.scale();
+        if (bps < 0 || scale < 0 || scale > 2 || amount.signum() < 0
+                || amount.precision() - scale > MAX_FAST_PATH_INTEGER_DIGITS) {
+            return priceExactly(amount, discountRates[tier.ordinal()]);
+        }
+
+        long cents = amount.unscaledValue().longValue() * CENTS_PER_UNSCALED[scale];
+        long discountCents = (cents * bps + HALF_CENT_IN_BPS) / BPS_PER_UNIT;
+        return new OrderPrice(BigDecimal.valueOf(discountCents, 2), BigDecimal.valueOf(cents - discountCents, 2));
+    }
+
+    private static OrderPrice priceExactly(BigDecimal amount, BigDecimal rate) {
+        BigDecimal discountAmount = amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        return new OrderPrice(discountAmount, amount.subtract(discountAmount));
+    }
+
+    private static Map<CustomerTier, BigDecimal> configuredRates(Environment environment) {
+        Map<CustomerTier, BigDecimal> rates = defaultRates();
+        for (CustomerTier tier : CustomerTier.values()) {
+            String property = "oms.pricing.discount-rate." + tier.name().toLowerCase(Locale.ROOT);
+            rates.put(tier, environment.getProperty(property, BigDecimal.class, tier.getDiscountPercentage()));
+        }
+        return rates;
+    }
+}
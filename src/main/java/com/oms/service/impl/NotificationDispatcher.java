@@ -0,0 +1,251 @@
+package com.oms.service.impl;
+
+import com.oms.dto.EmailMessage;
+import com.oms.service.EmailSender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers emails off the request thread.
+ * Messages produced inside a transaction are held until it commits (and dropped on rollback),
+ * then queued for a fixed pool of virtual-thread workers that send them in batches with retries.
+ * When the queue stays full the producing thread sends the message itself, which slows
+ * producers down instead of losing notifications.
+ * Pending messages are held in memory, not in the outbox table, so the ones not yet sent when an instance crashes
+ * are lost. Notifications are courtesy emails; the tier upgrade itself is recorded durably as an outbox event
+ * by {@link OutboxRecorder}.
+ * Send attempts are timed as {@code oms.notifications.send} by outcome; the counters are exported as
+ * {@code oms.notifications} by event, next to the {@code oms.notifications.queue.depth} gauge.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final EmailSender emailSender;
+    private final BlockingQueue<EmailMessage> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long offerTimeoutMillis;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sentInCaller = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
+
+    public NotificationDispatcher(EmailSender emailSender,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${oms.notification.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${oms.notification.workers:4}") int workerCount,
+                                  @Value("${oms.notification.batch-size:100}") int batchSize,
+                                  @Value("${oms.notification.max-attempts:3}") int maxAttempts,
+                                  @Value("${oms.notification.retry-backoff-ms:200}") long retryBackoffMillis,
+                                  @Value("${oms.notification.offer-timeout-ms:100}") long offerTimeoutMillis) {
+        this.emailSender = emailSender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+        counter(meterRegistry, "enqueued", enqueued);
+        counter(meterRegistry, "sent", sent);
+        counter(meterRegistry, "failed", failed);
+        counter(meterRegistry, "retried", retries);
+        counter(meterRegistry, "sent_in_caller", sentInCaller);
+        counter(meterRegistry, "discarded", discarded);
+        Gauge.builder("oms.notifications.queue.depth", queue, BlockingQueue::size)
+            .description("Notifications waiting for a worker")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual()
+                .name("notification-worker-" + i)
+                .start(this::runWorker));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        // Workers drain what is left in the queue before exiting
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        workers.clear();
+    }
+
+    public void dispatch(EmailMessage message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(message);
+            return;
+        }
+
+        PendingMessages pending = (PendingMessages) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingMessages();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.messages.add(message);
+    }
+
+    public Stats getStats() {
+        return new Stats(
+            enqueued.sum(),
+            sent.sum(),
+            failed.sum(),
+            retries.sum(),
+            batches.sum(),
+            sentInCaller.sum(),
+            discarded.sum(),
+            queue.size(),
+            sendNanos.sum()
+        );
+    }
+
+    private void enqueue(EmailMessage message) {
+        enqueued.increment();
+        try {
+            if (queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        sentInCaller.increment();
+        sendWithRetry(List.of(message));
+    }
+
+    private void runWorker() {
+        List<EmailMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                EmailMessage first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendWithRetry(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendWithRetry(List<EmailMessage> batch) {
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                emailSender.send(batch);
+                long elapsed = System.nanoTime() - start;
+                sendNanos.add(elapsed);
+                sendSucceeded.record(elapsed, TimeUnit.NANOSECONDS);
+                sent.add(batch.size());
+                batches.increment();
+                return;
+            } catch (RuntimeException ex) {
+                sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (attempt >= maxAttempts) {
+                    failed.add(batch.size());
+                    logger.error("Giving up on {} notification(s) after {} attempts", batch.size(), attempt, ex);
+                    return;
+                }
+                retries.increment();
+                logger.warn("Sending {} notification(s) failed, attempt {} of {}", batch.size(), attempt, maxAttempts, ex);
+                try {
+                    Thread.sleep(retryBackoffMillis * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    failed.add(batch.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("oms.notifications.send")
+            .description("Time to hand one batch of notifications to the email sender, per attempt")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, String event, LongAdder adder) {
+        FunctionCounter.builder("oms.notifications", adder, LongAdder::sum)
+            .description("Notifications by what happened to them")
+            .tag("event", event)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Snapshot of the dispatcher counters.
+     */
+    public record Stats(
+        long enqueued,
+        long sent,
+        long failed,
+        long retries,
+        long batches,
+        long sentInCaller,
+        long discarded,
+        int queueDepth,
+        long sendNanos
+    ) {}
+
+    private final class PendingMessages implements TransactionSynchronization {
+
+        private final List<EmailMessage> messages = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(NotificationDispatcher.this);
+            if (status == STATUS_COMMITTED) {
+                messages.forEach(NotificationDispatcher.this::enqueue);
+            } else {
+                discarded.add(messages.size());
+            }
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.oms.service.impl;
 
+import com.oms.dto.EmailMessage;
 import com.oms.entity.Customer;
 import com.oms.entity.CustomerTier;
 import com.oms.service.NotificationService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -12,13 +12,25 @@ import java.math.BigDecimal;
 @Service
 public class NotificationServiceImpl implements NotificationService {
     
-    private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
     private static final BigDecimal HUNDRED = new BigDecimal("100");
 
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     @Override
     public void sendTierProgressionAlert(Customer customer, int ordersToNextTier) {
+        sendEmail(customer.getEmail(), "Almost there! You're close to a tier upgrade!",
+            tierProgressionMessage(customer, ordersToNextTier));
+    }
+
+    @Override
+    public void sendTierUpgradeNotification(Customer customer) {
+        sendEmail(customer.getEmail(), "Congratulations on Your Tier Upgrade!", tierUpgradeMessage(customer));
+    }
+
+    static String tierProgressionMessage(Customer customer, int ordersToNextTier) {
         CustomerTier nextTier = getNextTier(customer.getTier());
-        String message = String.format(
+        return String.format(
             "Dear %s, you have placed %d orders with us. Place %d more order%s to be promoted to %s tier and enjoy %.0f%% discount!",
             customer.getName(),
             customer.getTotalOrders(),
@@ -27,23 +39,18 @@ public class NotificationServiceImpl implements NotificationService {
             nextTier,
             nextTier.getDiscountPercentage().multiply(HUNDRED).doubleValue()
         );
-        
-        sendEmail(customer.getEmail(), "Almost there! You're close to a tier upgrade!", message);
     }
 
-    @Override
-    public void sendTierUpgradeNotification(Customer customer) {
-        String message = String.format(
+    static String tierUpgradeMessage(Customer customer) {
+        return String.format(
             "Congratulations %s! You have been upgraded to %s tier. You now enjoy a %.0f%% discount on all your orders!",
             customer.getName(),
             customer.getTier(),
             customer.getTier().getDiscountPercentage().multiply(HUNDRED).doubleValue()
         );
-        
-        sendEmail(customer.getEmail(), "Congratulations on Your Tier Upgrade!", message);
     }
 
-    private CustomerTier getNextTier(CustomerTier currentTier) {
+    private static CustomerTier getNextTier(CustomerTier currentTier) {
         return switch (currentTier) {
             case REGULAR -> CustomerTier.GOLD;
             case GOLD -> CustomerTier.PLATINUM;
@@ -52,10 +59,11 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     private void sendEmail(String email, String subject, String message) {
-        // Dummy implementation - in production, this would use JavaMailSender or similar
-        logger.info("Sending email to: {}", email);
-        logger.info("Subject: {}", subject);
-        logger.info("Message: {}", message);
-        System.out.println("Sent mail to customer: " + email);
+        // The message is rendered now, while the customer state is current, and sent after commit
+        notificationDispatcher.dispatch(EmailMessage.builder()
+            .to(email)
+            .subject(subject)
+            .body(message)
+            .build());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.oms.service.impl;
+
+import com.oms.config.OrderConcurrencyMode;
+import com.oms.entity.CustomerTier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order path meters: {@code oms.orders.create} times every {@code createOrder} call by outcome and
+ * {@code oms.customers.tier.upgrades} counts committed tier upgrades by the tier reached. Meters are registered
+ * up front, so recording is a plain map lookup.
+ */
+@Component
+public class OrderMetrics {
+
+    static final String SUCCESS = "success";
+    static final String INVALID = "invalid";
+    static final String NOT_FOUND = "not_found";
+    static final String CONFLICT = "conflict";
+    static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> createTimers = new HashMap<>();
+    private final Map<CustomerTier, Counter> tierUpgrades = new EnumMap<>(CustomerTier.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry,
+                        @Value("${oms.order.concurrency-mode:ATOMIC}") OrderConcurrencyMode concurrencyMode) {
+        this.meterRegistry = meterRegistry;
+        for (String outcome : List.of(SUCCESS, INVALID, NOT_FOUND, CONFLICT, ERROR)) {
+            createTimers.put(outcome, Timer.builder("oms.orders.create")
+                .description("Time to place one order through createOrder")
+                .tag("outcome", outcome)
+                .tag("mode", concurrencyMode.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+        for (CustomerTier tier : CustomerTier.values()) {
+            tierUpgrades.put(tier, Counter.builder("oms.customers.tier.upgrades")
+                .description("Customers upgraded to the tier")
+                .tag("tier", tier.name())
+                .register(meterRegistry));
+        }
+    }
+
+    public Timer.Sample startCreate() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void createSucceeded(Timer.Sample sample) {
+        sample.stop(createTimers.get(SUCCESS));
+    }
+
+    public void createFailed(Timer.Sample sample, RuntimeException ex) {
+        sample.stop(createTimers.get(outcome(ex)));
+    }
+
+    /**
+     * Counts an upgrade to the tier, once the current transaction commits or right away outside of one,
+     * so rolled back and retried attempts are not counted.
+     */
+    public void tierUpgraded(CustomerTier tier) {
+        Counter counter = tierUpgrades.get(tier);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment();
+            }
+        });
+    }
+
+    private static String outcome(RuntimeException ex) {
+        if (ex instanceof IllegalArgumentException) {
+            return INVALID;
+        }
+        if (ex instanceof EntityNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (ex instanceof OptimisticLockingFailureException) {
+            return CONFLICT;
+        }
+        return ERROR;
+    }
+}
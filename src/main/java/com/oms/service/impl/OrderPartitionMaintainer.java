@@ -0,0 +1,138 @@
+package com.oms.service.impl;
+
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.repository.OrderPartition;
+import com.oms.repository.OrderPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code orders} ahead of time and archives expired ones.
+ * Runs on startup and every {@code oms.orders.partitions.maintenance-interval-ms}. Partitions are created
+ * contiguously from the end of the covered range up to {@code months-ahead} months after the current one, so a
+ * maintainer that was down for a while also fills the gap. With {@code retention-months} above zero, partitions
+ * ending before the retention window are detached concurrently and moved to {@code archive-schema}. Their orders are
+ * first folded into the archived totals of {@code customer_stats} (see {@link CustomerStatsRepository#foldPartition}),
+ * so customer stats stay lifetime totals and the reconciler does not mistake archived orders for drift.
+ * Every step is idempotent; replicas running it at the same time at worst log a failed duplicate attempt.
+ */
+@Component
+public class OrderPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionMaintainer.class);
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final OrderPartitionRepository partitionRepository;
+    private final CustomerStatsRepository statsRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    public OrderPartitionMaintainer(OrderPartitionRepository partitionRepository,
+                                    CustomerStatsRepository statsRepository,
+                                    @Value("${oms.orders.partitions.months-ahead:3}") int monthsAhead,
+                                    @Value("${oms.orders.partitions.retention-months:0}") int retentionMonths,
+                                    @Value("${oms.orders.partitions.archive-schema:archive}") String archiveSchema) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("oms.orders.partitions.months-ahead must be at least 1");
+        }
+        if (!IDENTIFIER.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+        this.partitionRepository = partitionRepository;
+        this.statsRepository = statsRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+    }
+
+    @Scheduled(fixedDelayString = "${oms.orders.partitions.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        maintain(YearMonth.now());
+    }
+
+    public MaintenanceResult maintain(YearMonth currentMonth) {
+        List<OrderPartition> partitions;
+        try {
+            partitions = partitionRepository.findPartitions();
+        } catch (DataAccessException ex) {
+            logger.warn("Could not read the order partitions, skipping maintenance", ex);
+            return new MaintenanceResult(List.of(), List.of());
+        }
+
+        List<String> created = createAhead(partitions, currentMonth);
+        List<String> archived = retentionMonths > 0 ? archiveExpired(partitions, currentMonth) : List.of();
+        if (!created.isEmpty() || !archived.isEmpty()) {
+            logger.info("Order partitions created: {}, archived to {}: {}", created, archiveSchema, archived);
+        }
+        return new MaintenanceResult(created, archived);
+    }
+
+    private List<String> createAhead(List<OrderPartition> partitions, YearMonth currentMonth) {
+        LocalDateTime coveredUntil = null;
+        for (OrderPartition partition : partitions) {
+            if (partition.to() == null) {
+                // Bounded by MAXVALUE, every future row already has a partition
+                return List.of();
+            }
+            if (coveredUntil == null || partition.to().isAfter(coveredUntil)) {
+                coveredUntil = partition.to();
+            }
+        }
+
+        YearMonth last = currentMonth.plusMonths(monthsAhead);
+        YearMonth month = coveredUntil == null ? currentMonth : YearMonth.from(coveredUntil);
+        List<String> created = new ArrayList<>();
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            try {
+                created.add(partitionRepository.createMonthlyPartition(month));
+            } catch (DataAccessException ex) {
+                logger.warn("Could not create the order partition for {}", month, ex);
+                break;
+            }
+        }
+        return created;
+    }
+
+    private List<String> archiveExpired(List<OrderPartition> partitions, YearMonth currentMonth) {
+        LocalDateTime cutoff = currentMonth.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        List<String> archived = new ArrayList<>();
+        for (OrderPartition partition : partitions) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                archivePartition(partition);
+                archived.add(partition.name());
+            } catch (DataAccessException ex) {
+                logger.warn("Could not archive the order partition {}", partition.name(), ex);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Folds the partition's orders into the archived customer stats, then detaches it and moves it to the archive
+     * schema. A run interrupted after folding resumes with the detach, the fold is not repeated.
+     */
+    public void archivePartition(OrderPartition partition) {
+        statsRepository.foldPartition(partition.name());
+        partitionRepository.detachPartition(partition);
+        partitionRepository.archiveTable(partition.name(), archiveSchema);
+    }
+
+    /**
+     * Partitions created (or found in place) and archived by one maintenance run.
+     */
+    public record MaintenanceResult(List<String> created, List<String> archived) {}
+}
@@ -1,102 +1,459 @@
 package com.oms.service.impl;
 
+import com.oms.config.OrderConcurrencyMode;
+import com.oms.dto.BatchOrderItemResult;
+import com.oms.dto.BatchOrderResponse;
 import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.CursorPage;
+import com.oms.dto.CustomerSnapshot;
 import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderPrice;
+import com.oms.dto.OrderSummaryDTO;
+import com.oms.dto.TierUpgradedEvent;
 import com.oms.entity.Customer;
 import com.oms.entity.CustomerTier;
 import com.oms.entity.Order;
+import com.oms.entity.TierRules;
 import com.oms.repository.CustomerRepository;
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.repository.OrderBatchRepository;
 import com.oms.repository.OrderRepository;
+import com.oms.repository.TierChange;
 import com.oms.service.NotificationService;
 import com.oms.service.OrderService;
+import com.oms.service.PricingEngine;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderServiceImpl implements OrderService {
+
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final int MAX_PAGE_SIZE = 1_000;
+    private static final long OPTIMISTIC_BASE_BACKOFF_MILLIS = 2;
     
     @Autowired
     private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderBatchRepository orderBatchRepository;
     
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private CustomerStatsRepository customerStatsRepository;
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private OutboxRecorder outboxRecorder;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private TierRuleProvider tierRuleProvider;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerInvalidationBus customerInvalidationBus;
+
+    @Autowired
+    private CustomerLockStripes customerLockStripes;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${oms.order.concurrency-mode:ATOMIC}")
+    private OrderConcurrencyMode concurrencyMode = OrderConcurrencyMode.ATOMIC;
+
+    @Value("${oms.order.optimistic.max-attempts:5}")
+    private int optimisticMaxAttempts = 5;
+
     @Override
-    @Transactional
     public OrderDTO createOrder(CreateOrderRequest request) {
-        if (request.customerId() == null) {
-            throw new IllegalArgumentException("Customer ID is required");
+        Timer.Sample sample = orderMetrics.startCreate();
+        try {
+            validate(request);
+
+            OrderDTO created = switch (concurrencyMode) {
+                case ATOMIC -> transactionTemplate.execute(status -> placeOrderAtomically(request));
+                case OPTIMISTIC -> placeOrderWithRetry(request);
+                case STRIPED -> placeOrderUnderCustomerLock(request);
+            };
+            // Every mode has committed by now
+            replicaLagGuard.recordWrites(List.of(request.customerId()));
+            orderMetrics.createSucceeded(sample);
+            return created;
+        } catch (RuntimeException ex) {
+            orderMetrics.createFailed(sample, ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    @Transactional
+    public BatchOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one order is required");
+        }
+
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must not exceed " + MAX_BATCH_SIZE + " orders");
+        }
+
+        // One locking lookup for every distinct customer; repeated customers share the same managed entity,
+        // so tier progression inside the batch behaves exactly like sequential createOrder calls and
+        // concurrent single orders wait for the batch instead of losing increments
+        Set<Long> customerIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(CreateOrderRequest::customerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerRepository.findAllByIdForUpdate(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        TierRules tierRules = tierRuleProvider.getRules();
+        BatchOrderItemResult[] results = new BatchOrderItemResult[requests.size()];
+        List<Order> orders = new ArrayList<>();
+        List<Integer> orderIndexes = new ArrayList<>();
+        List<TierUpgradedEvent> upgrades = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            try {
+                validate(request);
+            } catch (IllegalArgumentException ex) {
+                results[i] = BatchOrderItemResult.failure(i, ex.getMessage());
+                continue;
+            }
+
+            Customer customer = customers.get(request.customerId());
+            if (customer == null) {
+                results[i] = BatchOrderItemResult.failure(i, "Customer not found");
+                continue;
+            }
+
+            CustomerTier previousTier = customer.getTier();
+
+            // Price with the tier the customer had before this order, as the single-order path does
+            Order order = newOrder(customer, request.amount(), previousTier);
+            order.prePersist();
+
+            customer.incrementTotalOrders(tierRules);
+            notifyTierProgress(customer, previousTier, tierRules);
+            if (previousTier != customer.getTier()) {
+                upgrades.add(tierUpgradedEvent(customer, previousTier));
+                orderMetrics.tierUpgraded(customer.getTier());
+            }
+
+            orders.add(order);
+            orderIndexes.add(i);
+        }
+
+        // Customers are managed entities, their counters are flushed by dirty checking on commit
+        orderBatchRepository.insertAll(orders);
+        customerStatsRepository.addOrders(orders);
+        customers.values().forEach(customer ->
+            customerCache.recordOrder(customer.getId(), customer.getTier(), customer.getTotalOrders()));
+
+        List<OrderDTO> created = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            int index = orderIndexes.get(i);
+            OrderDTO order = toDTO(orders.get(i));
+            created.add(order);
+            results[index] = BatchOrderItemResult.success(index, order);
+        }
+
+        outboxRecorder.ordersCreated(created);
+        outboxRecorder.tierUpgraded(upgrades);
+        customerInvalidationBus.publish(upgrades.stream().map(TierUpgradedEvent::customerId).distinct().toList());
+        replicaLagGuard.recordWrites(customers.keySet());
+
+        return BatchOrderResponse.builder()
+            .accepted(orders.size())
+            .rejected(requests.size() - orders.size())
+            .results(Arrays.asList(results))
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDTO getOrderById(Long id) {
+        // Order ids do not tell the customer before the lookup, so any recent write keeps it on the primary
+        return replicaLagGuard.readLatest(() -> orderRepository.findById(id))
+                .map(OrderServiceImpl::toDTO)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByCustomerId(Long customerId) {
+        return replicaLagGuard.readCustomer(customerId, () -> {
+            if (!customerRepository.existsById(customerId)) {
+                throw new EntityNotFoundException("Customer not found");
+            }
+            return orderRepository.findDTOsByCustomerId(customerId);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByCustomerId(Long customerId, LocalDateTime from, LocalDateTime to,
+                                                Sort.Direction direction, Integer limit) {
+        validateDateRange(from, to);
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return replicaLagGuard.readCustomer(customerId, () -> {
+            if (!customerRepository.existsById(customerId)) {
+                throw new EntityNotFoundException("Customer not found");
+            }
+            return orderRepository.findHistory(customerId, from, to,
+                    direction == null ? Sort.Direction.ASC : direction,
+                    limit == null ? Limit.unlimited() : Limit.of(limit));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSummaryDTO getOrderSummary(Long customerId, LocalDateTime from, LocalDateTime to) {
+        validateDateRange(from, to);
+
+        return replicaLagGuard.readCustomer(customerId, () -> {
+            if (!customerRepository.existsById(customerId)) {
+                throw new EntityNotFoundException("Customer not found");
+            }
+            return orderRepository.summarize(customerId, from, to);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getAllOrders() {
+        return replicaLagGuard.readLatest(orderRepository::findAllDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDTO> getOrdersPage(Long after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
         
-        if (request.amount() == null) {
-            throw new IllegalArgumentException("Amount is required");
+        List<OrderDTO> items = replicaLagGuard.readLatest(() ->
+                orderRepository.findDTOsByIdGreaterThan(after == null ? 0L : after, Limit.of(size)));
+        Long nextCursor = items.size() == size ? items.get(items.size() - 1).id() : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderDTO> consumer) {
+        // Projections are not managed, so the persistence context stays empty however many rows pass
+        replicaLagGuard.readLatest(() -> {
+            try (Stream<OrderDTO> orders = orderRepository.streamAllDTOs()) {
+                orders.forEach(consumer);
+            }
+            return null;
+        });
+    }
+
+    private OrderDTO placeOrderAtomically(CreateOrderRequest request) {
+        // Counter and tier are bumped by one atomic UPDATE ... RETURNING, so concurrent
+        // orders of the same customer cannot lose increments
+        TierRules tierRules = tierRuleProvider.getRules();
+        TierChange tierChange = customerRepository.incrementTotalOrders(request.customerId(),
+                        tierRules.getMinOrders(CustomerTier.GOLD), tierRules.getMinOrders(CustomerTier.PLATINUM))
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+        
+        // Priced with the tier the customer had before this order
+        Order order = newOrder(customerRepository.getReferenceById(request.customerId()),
+                request.amount(), tierChange.getPreviousTier());
+        
+        order = orderRepository.save(order);
+        customerStatsRepository.addOrders(List.of(order));
+        
+        customerCache.recordOrder(request.customerId(), tierChange.getTier(), tierChange.getTotalOrders());
+        
+        // Name and email for a notification come from the cache, the row is only read on a miss
+        if (isTierEvent(tierChange.getPreviousTier(), tierChange.getTier(), tierChange.getTotalOrders(), tierRules)) {
+            CustomerSnapshot snapshot = customerCache.getIfPresent(request.customerId())
+                    .or(() -> customerRepository.findById(request.customerId()).map(CustomerSnapshot::of))
+                    .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+            Customer customer = snapshot.toBuilder()
+                    .tier(tierChange.getTier())
+                    .totalOrders(tierChange.getTotalOrders())
+                    .build()
+                    .toCustomer();
+            notifyTierProgress(customer, tierChange.getPreviousTier(), tierRules);
+        }
+
+        OrderDTO created = toDTO(order);
+        outboxRecorder.ordersCreated(List.of(created));
+        if (tierChange.getPreviousTier() != tierChange.getTier()) {
+            orderMetrics.tierUpgraded(tierChange.getTier());
+            outboxRecorder.tierUpgraded(List.of(new TierUpgradedEvent(
+                request.customerId(), tierChange.getPreviousTier(), tierChange.getTier(), tierChange.getTotalOrders())));
+            customerInvalidationBus.publish(List.of(request.customerId()));
         }
         
-        if (request.amount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Order amount must be greater than zero");
+        return created;
+    }
+
+    private OrderDTO placeOrderWithRetry(CreateOrderRequest request) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> placeOrderReadModifyWrite(request));
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= optimisticMaxAttempts) {
+                    throw ex;
+                }
+                backOff(attempt);
+            }
         }
+    }
 
+    private OrderDTO placeOrderUnderCustomerLock(CreateOrderRequest request) {
+        Lock lock = customerLockStripes.forCustomer(request.customerId());
+        lock.lock();
+        try {
+            // The transaction commits before the lock is released
+            return transactionTemplate.execute(status -> placeOrderReadModifyWrite(request));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OrderDTO placeOrderReadModifyWrite(CreateOrderRequest request) {
         Customer customer = customerRepository.findById(request.customerId())
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
         
         // Store the current tier for comparison
         CustomerTier previousTier = customer.getTier();
+        TierRules tierRules = tierRuleProvider.getRules();
         
-        Order order = Order.builder()
-        .customer(customer)
-        .amount(request.amount())
-        .build();
+        Order order = newOrder(customer, request.amount(), previousTier);
         
         order = orderRepository.save(order);
+        customerStatsRepository.addOrders(List.of(order));
         
-        customer.incrementTotalOrders();
+        // Customer.version is checked when the update is flushed on commit
+        customer.incrementTotalOrders(tierRules);
         customer = customerRepository.save(customer);
+        customerCache.recordOrder(customer.getId(), customer.getTier(), customer.getTotalOrders());
         
+        notifyTierProgress(customer, previousTier, tierRules);
+
+        OrderDTO created = toDTO(order);
+        outboxRecorder.ordersCreated(List.of(created));
         if (previousTier != customer.getTier()) {
-            notificationService.sendTierUpgradeNotification(customer);
+            orderMetrics.tierUpgraded(customer.getTier());
+            outboxRecorder.tierUpgraded(List.of(tierUpgradedEvent(customer, previousTier)));
+            customerInvalidationBus.publish(List.of(customer.getId()));
         }
-        else if ((previousTier == CustomerTier.REGULAR && customer.getTotalOrders() == 9) ||
-                 (previousTier == CustomerTier.GOLD && customer.getTotalOrders() == 19)) {
-            notificationService.sendTierProgressionAlert(customer, 1);
+        
+        return created;
+    }
+
+    private void backOff(int attempt) {
+        // Randomized exponential backoff spreads out retries of hot customers
+        long maxDelay = OPTIMISTIC_BASE_BACKOFF_MILLIS << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxDelay + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying order creation", ex);
+        }
+    }
+
+    private Order newOrder(Customer customer, BigDecimal amount, CustomerTier tier) {
+        // Priced here rather than in @PrePersist, which would reach through the lazy customer
+        OrderPrice price = pricingEngine.price(amount, tier);
+        return Order.builder()
+        .customer(customer)
+        .amount(amount)
+        .discountAmount(price.discountAmount())
+        .finalAmount(price.finalAmount())
+        .build();
+    }
+
+    private void validate(CreateOrderRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Order request is required");
+        }
+
+        if (request.customerId() == null) {
+            throw new IllegalArgumentException("Customer ID is required");
+        }
+        
+        if (request.amount() == null) {
+            throw new IllegalArgumentException("Amount is required");
         }
         
-        return toDTO(order);
+        if (request.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Order amount must be greater than zero");
+        }
     }
 
-    @Override
-    public OrderDTO getOrderById(Long id) {
-        return orderRepository.findById(id)
-                .map(this::toDTO)
-                .orElseThrow(() -> new EntityNotFoundException("Order not found"));
+    private void validateDateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
     }
 
-    @Override
-    public List<OrderDTO> getOrdersByCustomerId(Long customerId) {
-        if (!customerRepository.existsById(customerId)) {
-            throw new EntityNotFoundException("Customer not found");
+    private boolean isTierEvent(CustomerTier previousTier, CustomerTier tier, int totalOrders, TierRules tierRules) {
+        return previousTier != tier || tierRules.isOneOrderAway(previousTier, totalOrders);
+    }
+
+    private void notifyTierProgress(Customer customer, CustomerTier previousTier, TierRules tierRules) {
+        if (previousTier != customer.getTier()) {
+            notificationService.sendTierUpgradeNotification(customer);
+        }
+        else if (tierRules.isOneOrderAway(previousTier, customer.getTotalOrders())) {
+            notificationService.sendTierProgressionAlert(customer, 1);
         }
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
     }
 
-    @Override
-    public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    private TierUpgradedEvent tierUpgradedEvent(Customer customer, CustomerTier previousTier) {
+        return new TierUpgradedEvent(customer.getId(), previousTier, customer.getTier(), customer.getTotalOrders());
     }
 
-    private OrderDTO toDTO(Order order) {
+    static OrderDTO toDTO(Order order) {
         return new OrderDTO(
             order.getId(),
             order.getCustomer().getId(),
@@ -0,0 +1,77 @@
+package com.oms.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.dto.OrderCreatedEvent;
+import com.oms.dto.OrderDTO;
+import com.oms.dto.TierUpgradedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes order and tier events to the outbox table inside the caller's transaction,
+ * so an event exists if and only if the change that produced it was committed.
+ * Rows are inserted with JDBC batches to keep the bulk order path fast.
+ */
+@Component
+public class OutboxRecorder {
+
+    static final String ORDER_AGGREGATE = "Order";
+    static final String CUSTOMER_AGGREGATE = "Customer";
+    static final String ORDER_CREATED = "OrderCreated";
+    static final String TIER_UPGRADED = "TierUpgraded";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void ordersCreated(List<OrderDTO> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        insert(orders.stream()
+            .map(order -> new Row(ORDER_AGGREGATE, order.id(), ORDER_CREATED, OrderCreatedEvent.of(order)))
+            .toList());
+    }
+
+    public void tierUpgraded(List<TierUpgradedEvent> upgrades) {
+        if (upgrades.isEmpty()) {
+            return;
+        }
+        insert(upgrades.stream()
+            .map(upgrade -> new Row(CUSTOMER_AGGREGATE, upgrade.customerId(), TIER_UPGRADED, upgrade))
+            .toList());
+    }
+
+    private void insert(List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, JDBC_BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.aggregateType());
+            ps.setLong(2, row.aggregateId());
+            ps.setString(3, row.eventType());
+            ps.setString(4, toJson(row.payload()));
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize outbox payload", ex);
+        }
+    }
+
+    private record Row(String aggregateType, Long aggregateId, String eventType, Object payload) {}
+}
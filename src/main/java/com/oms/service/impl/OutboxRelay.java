@@ -0,0 +1,61 @@
+package com.oms.service.impl;
+
+import com.oms.entity.OutboxEvent;
+import com.oms.repository.OutboxEventRepository;
+import com.oms.service.OutboxEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the outbox table in batches.
+ * Every batch is locked with FOR UPDATE SKIP LOCKED, published and deleted in one transaction,
+ * so several application instances can relay in parallel without handing out the same event.
+ * Delivery is at-least-once: a publish that succeeds right before a failed commit is repeated.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${oms.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    @Scheduled(fixedDelayString = "${oms.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published == batchSize);
+        } catch (RuntimeException ex) {
+            // The batch stays in the outbox and is picked up again on the next run
+            logger.warn("Relaying outbox events failed", ex);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        outboxEventPublisher.publish(events);
+        outboxEventRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+}
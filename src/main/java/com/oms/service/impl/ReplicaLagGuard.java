@@ -0,0 +1,115 @@
+package com.oms.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a read-only transaction may use the replica.
+ * {@link ReplicaLagMonitor} reports up to which point in time the replica has replayed the primary's WAL. Writes
+ * record the customers they touched once they commit; a later read of such a customer runs on the primary until the
+ * replica has caught up with that write, so callers always see their own writes. Every read falls back to the
+ * primary while the replica is more than {@code oms.datasource.replica.max-lag-ms} behind or not monitored at all.
+ * Writes are tracked per instance, so read-your-writes holds for requests served by the instance that wrote.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final long maxLagNanos;
+    // Commit time of the last write per customer; entries older than the maximum lag no longer matter
+    private final Cache<Long, Long> writeNanosByCustomer;
+    private volatile long lastWriteNanos;
+    private volatile long replicaVisibleNanos;
+    private volatile boolean monitored;
+
+    public ReplicaLagGuard(@Value("${oms.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+        this.writeNanosByCustomer = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofNanos(maxLagNanos))
+            .build();
+        this.lastWriteNanos = System.nanoTime() - maxLagNanos;
+    }
+
+    /**
+     * Records writes to the customers, once the current transaction commits or right away outside of one.
+     */
+    public void recordWrites(Collection<Long> customerIds) {
+        Runnable record = () -> {
+            long now = System.nanoTime();
+            customerIds.forEach(id -> writeNanosByCustomer.put(id, now));
+            lastWriteNanos = now;
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record.run();
+            }
+        });
+    }
+
+    /**
+     * Runs a read of one customer's data, on the primary if the replica may not have this instance's last write
+     * to that customer yet.
+     */
+    public <T> T readCustomer(Long customerId, Supplier<T> read) {
+        Long written = writeNanosByCustomer.getIfPresent(customerId);
+        return written != null && !isVisible(written) ? onPrimary(read) : read.get();
+    }
+
+    /**
+     * Runs a read that cannot be attributed to a customer, on the primary if the replica may not have every write
+     * of this instance yet.
+     */
+    public <T> T readLatest(Supplier<T> read) {
+        return isVisible(lastWriteNanos) ? read.get() : onPrimary(read);
+    }
+
+    /**
+     * Whether the current read-only transaction may be routed to the replica.
+     */
+    public boolean isReplicaReadAllowed() {
+        return PRIMARY_REQUIRED.get() == null && isReplicaUsable();
+    }
+
+    public boolean isReplicaUsable() {
+        return monitored && System.nanoTime() - replicaVisibleNanos <= maxLagNanos;
+    }
+
+    /**
+     * Called by the monitor: every write committed before {@code sampledNanos} has been replayed by the replica.
+     */
+    void replicaVisibleUpTo(long sampledNanos) {
+        replicaVisibleNanos = sampledNanos;
+        monitored = true;
+    }
+
+    private boolean isVisible(long writeNanos) {
+        return isReplicaUsable() && writeNanos - replicaVisibleNanos < 0;
+    }
+
+    private static <T> T onPrimary(Supplier<T> read) {
+        if (PRIMARY_REQUIRED.get() != null) {
+            return read.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.oms.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how far the replica has replayed the primary's WAL, for {@link ReplicaLagGuard}.
+ * Every poll first notes the time, then reads the primary's current WAL position: any transaction committed before
+ * that time lies at or before that position. Once the replica's replay position passes it, everything committed
+ * before the noted time is visible on the replica. Only created when a replica is configured.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn() - '0/0'::pg_lsn";
+    private static final String REPLAY_LSN_SQL = "SELECT pg_last_wal_replay_lsn() - '0/0'::pg_lsn";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaLagGuard guard;
+    private final long pollIntervalMillis;
+    private final int maxSamples;
+
+    // Primary positions not yet reached by the replica, oldest first; only touched by the monitor thread
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private volatile boolean running;
+    private Thread poller;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, ReplicaLagGuard guard,
+                             long pollIntervalMillis, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.guard = guard;
+        this.pollIntervalMillis = pollIntervalMillis;
+        // Samples older than the maximum lag cannot make the replica usable again, the newest ones are enough
+        this.maxSamples = (int) Math.max(16, 2 * maxLagMillis / Math.max(1, pollIntervalMillis));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        poller = Thread.ofVirtual().name("replica-lag-monitor").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+            poller.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Takes one sample of both positions and reports the replica's progress to the guard.
+     */
+    public void poll() {
+        long sampledAt = System.nanoTime();
+        Long primaryLsn = primary.queryForObject(PRIMARY_LSN_SQL, Long.class);
+        samples.addLast(new Sample(sampledAt, primaryLsn));
+        if (samples.size() > maxSamples) {
+            samples.removeFirst();
+        }
+
+        // NULL when the replica is not in recovery, it is then not a replica of anything
+        Long replayLsn = replica.queryForObject(REPLAY_LSN_SQL, Long.class);
+        if (replayLsn == null) {
+            return;
+        }
+        Sample reached = null;
+        while (!samples.isEmpty() && samples.peekFirst().lsn() <= replayLsn) {
+            reached = samples.removeFirst();
+        }
+        if (reached != null) {
+            guard.replicaVisibleUpTo(reached.sampledAt());
+        }
+    }
+
+    private void run() {
+        boolean failing = false;
+        while (running) {
+            try {
+                poll();
+                if (failing) {
+                    logger.info("Replica lag monitoring recovered");
+                    failing = false;
+                }
+            } catch (DataAccessException ex) {
+                // Without fresh samples the guard sends every read to the primary once the maximum lag has passed
+                if (!failing) {
+                    logger.warn("Could not sample replica lag, reads fall back to the primary", ex);
+                    failing = true;
+                }
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private record Sample(long sampledAt, long lsn) {}
+}
@@ -1,37 +1,249 @@
 package com.oms.service.impl;
 
 import com.oms.entity.Customer;
-import com.oms.entity.CustomerTier;
+import com.oms.entity.TierRules.ProgressionBand;
 import com.oms.repository.CustomerRepository;
+import com.oms.repository.PartitionLease;
+import com.oms.repository.TierProgressionLeaseRepository;
 import com.oms.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Nightly reminder for customers one order away from the next tier, spread over all replicas.
+ * Every band of the current {@link com.oms.entity.TierRules} is one indexed range query per chunk.
+ * The first instance to fire splits the customer id space into partitions in
+ * {@code tier_progression_partitions}; every instance then leases partitions one at a time with
+ * {@code FOR UPDATE SKIP LOCKED} until none are left. Inside a partition the ids are cut into chunks
+ * that are queried and notified in parallel, a wave at a time, and the partition checkpoint is advanced
+ * after every wave. Leases are kept alive by a heartbeat; partitions of a crashed instance expire and
+ * are taken over, resuming at their checkpoint. Chunks of an interrupted wave are processed again,
+ * which can repeat a reminder but never skip one.
+ * Every invocation is timed as {@code oms.tier-progression.run}, and the customers it notified are counted
+ * as {@code oms.tier-progression.customers}.
+ */
 @Service
 public class TierProgressionScheduler {
 
+    private static final Logger logger = LoggerFactory.getLogger(TierProgressionScheduler.class);
+
     @Autowired
     private CustomerRepository customerRepository;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TierProgressionLeaseRepository leaseRepository;
+
+    @Autowired
+    private TierRuleProvider tierRuleProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oms.tier-progression.partitions:16}")
+    private int partitions = 16;
+
+    @Value("${oms.tier-progression.chunk-size:10000}")
+    private int chunkSize = 10_000;
+
+    @Value("${oms.tier-progression.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${oms.tier-progression.lease-ms:60000}")
+    private long leaseMillis = 60_000;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<RunStats> lastRun = new AtomicReference<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("tier-progression-", 0).factory());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
 
     @Scheduled(cron = "0 0 0 * * ?")
     public void checkTierProgressions() {
-        // customers close to GOLD tier (9 orders)
-        List<Customer> nearGoldCustomers = customerRepository.findByTierAndTotalOrders(
-            CustomerTier.REGULAR, 9);
-        nearGoldCustomers.forEach(customer -> 
-            notificationService.sendTierProgressionAlert(customer, 1));
-
-        // customers close to PLATINUM tier (19 orders)
-        List<Customer> nearPlatinumCustomers = customerRepository.findByTierAndTotalOrders(
-            CustomerTier.GOLD, 19);
-        nearPlatinumCustomers.forEach(customer -> 
-            notificationService.sendTierProgressionAlert(customer, 1));
-    }
-} 
\ No newline at end of file
+        if (leaseRepository.createPartitions(LocalDate.now(), partitions)) {
+            logger.info("Created tier progression partitions for {}", LocalDate.now());
+        }
+        startRun();
+    }
+
+    // Keeps this instance's leases alive and takes over partitions whose owner stopped heartbeating,
+    // which also resumes a run cut short by a restart of every instance
+    @Scheduled(fixedDelayString = "${oms.tier-progression.heartbeat-interval-ms:10000}")
+    public void maintainLeases() {
+        if (running.get()) {
+            leaseRepository.renewLeases(instanceId, leaseMillis);
+        } else if (leaseRepository.hasClaimablePartitions()) {
+            startRun();
+        }
+    }
+
+    public Optional<RunStats> getLastRun() {
+        return Optional.ofNullable(lastRun.get());
+    }
+
+    /**
+     * Processes partitions until none can be leased. Runs on the calling thread.
+     */
+    public Optional<RunStats> runClaimedPartitions() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            int partitionCount = 0;
+            int chunks = 0;
+            long notificationsSent = 0;
+            boolean completed = true;
+
+            // Rules reloaded during the run apply from the next run on
+            List<ProgressionBand> bands = tierRuleProvider.getRules().progressionBands();
+
+            Optional<PartitionLease> lease;
+            while (completed && (lease = leaseRepository.claim(instanceId, leaseMillis)).isPresent()) {
+                PartitionResult result = processPartition(lease.get(), bands);
+                partitionCount++;
+                chunks += result.chunks();
+                notificationsSent += result.notificationsSent();
+                completed = !result.failed();
+            }
+
+            RunStats stats = new RunStats(startedAt, Duration.ofNanos(System.nanoTime() - start),
+                partitionCount, chunks, notificationsSent, completed);
+            lastRun.set(stats);
+            recordMetrics(stats);
+            logger.info("Tier progression run {}: {} partitions, {} chunks, {} notifications in {} ms ({} notifications/s)",
+                completed ? "finished" : "stopped", partitionCount, chunks, notificationsSent,
+                stats.elapsed().toMillis(), Math.round(stats.notificationsPerSecond()));
+            return Optional.of(stats);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void recordMetrics(RunStats stats) {
+        meterRegistry.timer("oms.tier-progression.run", "outcome", stats.completed() ? "completed" : "stopped")
+            .record(stats.elapsed());
+        meterRegistry.counter("oms.tier-progression.customers").increment(stats.notificationsSent());
+        meterRegistry.counter("oms.tier-progression.chunks").increment(stats.chunks());
+    }
+
+    private void startRun() {
+        if (!running.get()) {
+            Thread.ofVirtual().name("tier-progression-run").start(this::runClaimedPartitions);
+        }
+    }
+
+    private PartitionResult processPartition(PartitionLease lease, List<ProgressionBand> bands) {
+        int chunks = 0;
+        long notificationsSent = 0;
+        long nextId = lease.lastProcessedId() + 1;
+
+        while (nextId <= lease.toId()) {
+            List<Future<Integer>> wave = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism && nextId <= lease.toId(); i++) {
+                long fromId = nextId;
+                long toId = Math.min(lease.toId(), fromId + chunkSize - 1);
+                wave.add(executor.submit(() -> processChunk(bands, fromId, toId)));
+                nextId = toId + 1;
+            }
+
+            int waveNotifications;
+            try {
+                waveNotifications = awaitWave(wave);
+            } catch (ExecutionException ex) {
+                logger.error("Tier progression chunk of partition {} failed, it resumes after its last checkpoint",
+                    lease.partitionNo(), ex.getCause());
+                return new PartitionResult(chunks, notificationsSent, true);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return new PartitionResult(chunks, notificationsSent, true);
+            }
+
+            chunks += wave.size();
+            notificationsSent += waveNotifications;
+            if (!leaseRepository.checkpoint(lease.id(), instanceId, nextId - 1, wave.size(), waveNotifications, leaseMillis)) {
+                logger.warn("Lease on tier progression partition {} was taken over, leaving it to the new owner",
+                    lease.partitionNo());
+                return new PartitionResult(chunks, notificationsSent, false);
+            }
+        }
+
+        leaseRepository.complete(lease.id(), instanceId);
+        return new PartitionResult(chunks, notificationsSent, false);
+    }
+
+    private int awaitWave(List<Future<Integer>> wave) throws ExecutionException, InterruptedException {
+        int notifications = 0;
+        try {
+            for (Future<Integer> chunk : wave) {
+                notifications += chunk.get();
+            }
+            return notifications;
+        } finally {
+            wave.forEach(chunk -> chunk.cancel(true));
+        }
+    }
+
+    private int processChunk(List<ProgressionBand> bands, long fromId, long toId) {
+        int notifications = 0;
+        for (ProgressionBand band : bands) {
+            List<Customer> candidates = customerRepository.findTierProgressionCandidates(
+                band.tier(), band.totalOrders(), fromId, toId);
+            candidates.forEach(customer -> notificationService.sendTierProgressionAlert(customer, 1));
+            notifications += candidates.size();
+        }
+        return notifications;
+    }
+
+    private record PartitionResult(int chunks, long notificationsSent, boolean failed) {}
+
+    /**
+     * Work done by this instance in one invocation; other replicas report their own share.
+     */
+    public record RunStats(
+        LocalDateTime startedAt,
+        Duration elapsed,
+        int partitions,
+        int chunks,
+        long notificationsSent,
+        boolean completed
+    ) {
+        public double notificationsPerSecond() {
+            long millis = Math.max(1, elapsed.toMillis());
+            return notificationsSent * 1000.0 / millis;
+        }
+    }
+}
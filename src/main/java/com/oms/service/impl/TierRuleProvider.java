@@ -0,0 +1,70 @@
+package com.oms.service.impl;
+
+import com.oms.entity.CustomerTier;
+import com.oms.entity.TierRule;
+import com.oms.entity.TierRules;
+import com.oms.repository.TierRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the current {@link TierRules}. Thresholds come from {@code oms.tier-rules.*} and are overridden by
+ * rows of {@code tier_rules}, which are re-read every {@code oms.tier-rules.refresh-interval-ms}, so a changed
+ * row takes effect on every instance without a restart. A rule set that fails validation is logged and the
+ * previous one stays in use.
+ */
+@Component
+public class TierRuleProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(TierRuleProvider.class);
+
+    private final TierRuleRepository tierRuleRepository;
+    private final Map<CustomerTier, Integer> configuredThresholds = new EnumMap<>(CustomerTier.class);
+    private volatile TierRules rules;
+
+    public TierRuleProvider(TierRuleRepository tierRuleRepository,
+                            @Value("${oms.tier-rules.gold-min-orders:10}") int goldMinOrders,
+                            @Value("${oms.tier-rules.platinum-min-orders:20}") int platinumMinOrders) {
+        this.tierRuleRepository = tierRuleRepository;
+        configuredThresholds.put(CustomerTier.REGULAR, 0);
+        configuredThresholds.put(CustomerTier.GOLD, goldMinOrders);
+        configuredThresholds.put(CustomerTier.PLATINUM, platinumMinOrders);
+        this.rules = TierRules.of(configuredThresholds);
+    }
+
+    public TierRules getRules() {
+        return rules;
+    }
+
+    @Scheduled(fixedDelayString = "${oms.tier-rules.refresh-interval-ms:30000}")
+    public void refresh() {
+        Map<CustomerTier, Integer> thresholds = new EnumMap<>(configuredThresholds);
+        try {
+            for (TierRule rule : tierRuleRepository.findAll()) {
+                thresholds.put(rule.getTier(), rule.getMinOrders());
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Could not load tier rules, keeping {}", rules, ex);
+            return;
+        }
+
+        TierRules loaded;
+        try {
+            loaded = TierRules.of(thresholds);
+        } catch (IllegalArgumentException ex) {
+            logger.error("Ignoring invalid tier rules {}: {}", thresholds, ex.getMessage());
+            return;
+        }
+        if (!loaded.equals(rules)) {
+            logger.info("Tier rules changed from {} to {}", rules, loaded);
+            rules = loaded;
+        }
+    }
+}
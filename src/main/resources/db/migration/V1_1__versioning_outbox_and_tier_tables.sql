@@ -0,0 +1,64 @@
+-- Objects introduced after the baseline schema of V1: customer versioning, case-insensitive email uniqueness,
+-- the tier progression index and tables, the outbox and the id sequences
+
+ALTER TABLE customers ADD COLUMN version bigint DEFAULT 0;
+ALTER TABLE customers ALTER COLUMN email SET NOT NULL;
+
+-- The case-sensitive unique constraint Hibernate created on email is replaced by the lower(email) index below.
+-- Its name depends on how the database was created, so it is looked up. Creating the index fails if existing
+-- emails differ only in case; such duplicates have to be merged before migrating.
+DO $$
+DECLARE
+    email_key name;
+BEGIN
+    FOR email_key IN
+        SELECT c.conname
+        FROM pg_constraint c
+        WHERE c.conrelid = 'customers'::regclass
+          AND c.contype = 'u'
+          AND c.conkey = ARRAY[(SELECT attnum FROM pg_attribute
+                                WHERE attrelid = 'customers'::regclass AND attname = 'email')]
+    LOOP
+        EXECUTE format('ALTER TABLE customers DROP CONSTRAINT %I', email_key);
+    END LOOP;
+END $$;
+
+-- Case-insensitive email uniqueness, also the index behind CustomerRepository.findByEmail
+CREATE UNIQUE INDEX customers_email_lower_key ON customers (lower(email));
+
+-- Each tier progression band (tier, total_orders) of a scheduler chunk is one range scan in id order
+CREATE INDEX customers_tier_total_orders_id_idx ON customers (tier, total_orders, id);
+
+CREATE TABLE outbox (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type varchar(255) NOT NULL,
+    aggregate_id   bigint NOT NULL,
+    event_type     varchar(255) NOT NULL,
+    payload        text NOT NULL,
+    created_at     timestamp(6) NOT NULL
+);
+
+CREATE TABLE tier_progression_partitions (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    run_date           date NOT NULL,
+    partition_no       integer NOT NULL,
+    from_id            bigint NOT NULL,
+    to_id              bigint NOT NULL,
+    last_processed_id  bigint NOT NULL,
+    completed          boolean NOT NULL,
+    owner              varchar(255),
+    lease_expires_at   timestamp(6),
+    finished_at        timestamp(6),
+    chunks_processed   integer NOT NULL,
+    notifications_sent bigint NOT NULL,
+    UNIQUE (run_date, partition_no)
+);
+
+CREATE TABLE tier_rules (
+    tier       varchar(20) PRIMARY KEY CHECK (tier IN ('REGULAR', 'GOLD', 'PLATINUM')),
+    min_orders integer NOT NULL
+);
+
+-- Used by the sequence-ids profile, IdSequenceInitializer moves them past the existing ids
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE customers_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,20 @@
+-- Schema as created by Hibernate's ddl-auto=update before migrations were introduced. Databases that were running
+-- then are baselined at this version (spring.flyway.baseline-on-migrate), so this must stay exactly that schema;
+-- everything added since lives in the later migrations
+
+CREATE TABLE customers (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email        varchar(255) UNIQUE,
+    name         varchar(255),
+    tier         varchar(255) CHECK (tier IN ('REGULAR', 'GOLD', 'PLATINUM')),
+    total_orders integer
+);
+
+CREATE TABLE orders (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount          numeric(38, 2) NOT NULL,
+    discount_amount numeric(38, 2),
+    final_amount    numeric(38, 2),
+    customer_id     bigint NOT NULL REFERENCES customers (id),
+    order_date      timestamp(6)
+);
@@ -0,0 +1,8 @@
+-- Orders of a customer, newest first. Covers the customer order lookups and counts and, with final_amount
+-- included, customer spend over a date range without visiting the heap. Also indexes the customer_id foreign key.
+CREATE INDEX IF NOT EXISTS orders_customer_id_order_date_idx
+    ON orders (customer_id, order_date DESC) INCLUDE (final_amount);
+
+-- Partitions still to be leased, in the order TierProgressionLeaseRepository claims them
+CREATE INDEX IF NOT EXISTS tier_progression_partitions_open_idx
+    ON tier_progression_partitions (run_date, partition_no) WHERE NOT completed;
@@ -0,0 +1,34 @@
+-- Range partitions of orders by order_date, one per month, created ahead and archived by OrderPartitionMaintainer.
+-- The existing table is attached as a single partition holding everything up to the end of the current month,
+-- so no rows are copied. The partition key is part of the primary key, as Postgres requires.
+
+ALTER TABLE orders ALTER COLUMN order_date SET NOT NULL;
+
+ALTER TABLE orders RENAME TO orders_legacy;
+ALTER INDEX IF EXISTS orders_pkey RENAME TO orders_legacy_pkey;
+ALTER INDEX IF EXISTS orders_customer_id_order_date_idx RENAME TO orders_legacy_customer_id_order_date_idx;
+-- Ids now come from the identity of the partitioned table
+ALTER TABLE orders_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE TABLE orders (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY,
+    customer_id     bigint NOT NULL REFERENCES customers (id),
+    amount          numeric(38, 2) NOT NULL,
+    discount_amount numeric(38, 2),
+    final_amount    numeric(38, 2),
+    order_date      timestamp(6) NOT NULL,
+    PRIMARY KEY (id, order_date)
+) PARTITION BY RANGE (order_date);
+
+CREATE INDEX orders_customer_id_order_date_idx
+    ON orders (customer_id, order_date DESC) INCLUDE (final_amount);
+
+DO $$
+DECLARE
+    next_month timestamp := date_trunc('month', localtimestamp) + interval '1 month';
+BEGIN
+    EXECUTE format('ALTER TABLE orders ATTACH PARTITION orders_legacy FOR VALUES FROM (MINVALUE) TO (%L)', next_month);
+    EXECUTE format('CREATE TABLE orders_%s PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+        to_char(next_month, 'YYYY_MM'), next_month, next_month + interval '1 month');
+    PERFORM setval(pg_get_serial_sequence('orders', 'id'), (SELECT coalesce(max(id), 0) + 1 FROM orders_legacy), false);
+END $$;
@@ -0,0 +1,7 @@
+-- Customer order summaries aggregate amount, discount_amount and final_amount over a date range. Including all three
+-- lets the aggregate run as an index-only scan. Dropping the partitioned index drops the index of every partition,
+-- creating it again builds them all, orders is locked against writes while that runs.
+DROP INDEX IF EXISTS orders_customer_id_order_date_idx;
+
+CREATE INDEX orders_customer_id_order_date_idx
+    ON orders (customer_id, order_date DESC) INCLUDE (amount, discount_amount, final_amount);
@@ -0,0 +1,14 @@
+-- Per-customer order aggregates, incremented in the transaction that inserts the order.
+-- A customer without orders has no row yet, readers treat that as zeros.
+CREATE TABLE customer_stats (
+    customer_id     bigint PRIMARY KEY REFERENCES customers (id) ON DELETE CASCADE,
+    order_count     bigint NOT NULL DEFAULT 0,
+    total_spend     numeric(38, 2) NOT NULL DEFAULT 0,
+    total_discount  numeric(38, 2) NOT NULL DEFAULT 0,
+    last_order_date timestamp(6)
+);
+
+INSERT INTO customer_stats (customer_id, order_count, total_spend, total_discount, last_order_date)
+SELECT customer_id, count(*), coalesce(sum(final_amount), 0), coalesce(sum(discount_amount), 0), max(order_date)
+FROM orders
+GROUP BY customer_id;
@@ -0,0 +1,15 @@
+-- Order aggregates of archived partitions, which customer_stats keeps counting as lifetime totals.
+-- OrderPartitionMaintainer folds a partition in here, and records it, in one transaction before detaching it; the
+-- reconciler compares customer_stats with these rows plus the orders of partitions not folded yet.
+CREATE TABLE archived_order_partitions (
+    partition_name varchar(63) PRIMARY KEY,
+    archived_at    timestamp(6) NOT NULL
+);
+
+CREATE TABLE archived_order_stats (
+    customer_id     bigint PRIMARY KEY REFERENCES customers (id) ON DELETE CASCADE,
+    order_count     bigint NOT NULL,
+    total_spend     numeric(38, 2) NOT NULL,
+    total_discount  numeric(38, 2) NOT NULL,
+    last_order_date timestamp(6)
+);
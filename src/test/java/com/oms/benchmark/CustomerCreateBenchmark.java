@@ -0,0 +1,130 @@
+package com.oms.benchmark;
+
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.entity.Customer;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.service.CustomerService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Customer creation under concurrency with a share of duplicate emails: the former check-then-insert
+ * (an existence query before every insert) versus relying on the unique email index alone.
+ * Reports throughput and JDBC statements per create.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.hikari.maximum-pool-size=32"
+})
+@ActiveProfiles("test")
+class CustomerCreateBenchmark extends PostgresTestContainer {
+
+    private static final int CREATES = 5_000;
+    private static final int THREADS = 32;
+    // Every 10th request reuses an email that is created concurrently
+    private static final int DUPLICATE_EVERY = 10;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void checkThenInsert() throws InterruptedException {
+        run("check-then-insert", "legacy", request -> transactionTemplate.executeWithoutResult(status -> {
+            boolean exists = entityManager.createQuery(
+                    "SELECT count(c) > 0 FROM Customer c WHERE c.email = :email", Boolean.class)
+                .setParameter("email", request.email())
+                .getSingleResult();
+            if (exists) {
+                throw new IllegalArgumentException("Email already exists");
+            }
+            customerRepository.saveAndFlush(Customer.builder()
+                .name(request.name())
+                .email(request.email())
+                .totalOrders(0)
+                .build());
+        }));
+    }
+
+    @Test
+    void uniqueIndexOnly() throws InterruptedException {
+        run("unique index only", "indexed", customerService::createCustomer);
+    }
+
+    private void run(String name, String emailPrefix, Consumer<CreateCustomerRequest> create) throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger racedPastCheck = new AtomicInteger();
+
+        statistics.clear();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CREATES; i++) {
+            int emailNumber = i % DUPLICATE_EVERY == 0 && i > 0 ? i - 1 : i;
+            CreateCustomerRequest request = new CreateCustomerRequest(
+                "Benchmark Customer", emailPrefix + "-" + emailNumber + "@example.com", null);
+            executor.execute(() -> {
+                try {
+                    create.accept(request);
+                    created.incrementAndGet();
+                } catch (IllegalArgumentException ex) {
+                    rejected.incrementAndGet();
+                } catch (DataIntegrityViolationException ex) {
+                    // The existence check passed but a concurrent insert won
+                    racedPastCheck.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("[%s] %d created, %d rejected, %d raced past the check in %d ms (%.0f creates/s), %.2f statements per request%n",
+            name, created.get(), rejected.get(), racedPastCheck.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            CREATES / (elapsedNanos / 1_000_000_000.0), statistics.getPrepareStatementCount() / (double) CREATES);
+    }
+}
@@ -0,0 +1,94 @@
+package com.oms.benchmark;
+
+import com.oms.config.IdGenerationMode;
+import com.oms.config.PostgresTestContainer;
+import com.oms.entity.Customer;
+import com.oms.entity.Order;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.oms.util.TestUtil.AMOUNT_100;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput of customers and orders through Hibernate for one {@link IdGenerationMode}.
+ * Run with {@code ./gradlew benchmark} and compare the IDENTITY and SEQUENCE subclasses.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+abstract class IdGenerationBenchmark extends PostgresTestContainer {
+
+    private static final int CUSTOMERS = 2_000;
+    private static final int ORDERS_PER_CUSTOMER = 20;
+    private static final int CUSTOMERS_PER_TRANSACTION = 50;
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${oms.ids.mode}")
+    private IdGenerationMode idMode;
+
+    @Test
+    void insertThroughput() {
+        // Warm up connection pool, JIT and the sequence caches
+        insert(CUSTOMERS_PER_TRANSACTION * 4);
+
+        long start = System.nanoTime();
+        long rows = insert(CUSTOMERS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[%s] inserted %d rows in %d ms (%.0f rows/s)%n",
+            idMode, rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows / seconds);
+
+        assertEquals((long) CUSTOMERS * (ORDERS_PER_CUSTOMER + 1), rows);
+    }
+
+    private long insert(int customers) {
+        long rows = 0;
+        for (int offset = 0; offset < customers; offset += CUSTOMERS_PER_TRANSACTION) {
+            int chunk = Math.min(CUSTOMERS_PER_TRANSACTION, customers - offset);
+            rows += transactionTemplate.execute(status -> insertChunk(chunk));
+        }
+        return rows;
+    }
+
+    private long insertChunk(int customers) {
+        long rows = 0;
+        for (int i = 0; i < customers; i++) {
+            Customer customer = Customer.builder()
+                .name("Benchmark Customer")
+                .email("benchmark-" + emailSequence.incrementAndGet() + "@example.com")
+                .totalOrders(0)
+                .build();
+            entityManager.persist(customer);
+            rows++;
+
+            for (int j = 0; j < ORDERS_PER_CUSTOMER; j++) {
+                entityManager.persist(Order.builder()
+                    .customer(customer)
+                    .amount(AMOUNT_100)
+                    .build());
+                rows++;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rows;
+    }
+}
@@ -0,0 +1,4 @@
+package com.oms.benchmark;
+
+class IdentityIdGenerationBenchmark extends IdGenerationBenchmark {
+}
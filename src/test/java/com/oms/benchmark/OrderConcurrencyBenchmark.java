@@ -0,0 +1,116 @@
+package com.oms.benchmark;
+
+import com.oms.config.OrderConcurrencyMode;
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.service.CustomerService;
+import com.oms.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.oms.util.TestUtil.createOrderRequest;
+
+/**
+ * Order creation throughput of every {@link OrderConcurrencyMode} with all orders hitting one
+ * customer (hot key) versus orders spread over many customers (uniform keys).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.datasource.hikari.maximum-pool-size=32"
+})
+@ActiveProfiles("test")
+class OrderConcurrencyBenchmark extends PostgresTestContainer {
+
+    private static final int ORDERS = 10_000;
+    private static final int THREADS = 32;
+    private static final int UNIFORM_CUSTOMERS = 1_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final AtomicInteger emailSequence = new AtomicInteger();
+
+    static Stream<Arguments> scenarios() {
+        return Stream.of(OrderConcurrencyMode.values())
+            .flatMap(mode -> Stream.of(Arguments.of(mode, 1), Arguments.of(mode, UNIFORM_CUSTOMERS)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void resetMode() {
+        setMode(OrderConcurrencyMode.ATOMIC);
+    }
+
+    @ParameterizedTest(name = "{0} with {1} customer(s)")
+    @MethodSource("scenarios")
+    void createOrderThroughput(OrderConcurrencyMode mode, int customerCount) throws InterruptedException {
+        setMode(mode);
+        List<Long> customerIds = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            customerIds.add(customerService.createCustomer(new CreateCustomerRequest(
+                "Benchmark Customer", "concurrency-" + emailSequence.incrementAndGet() + "@example.com", null)).id());
+        }
+
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            executor.execute(() -> {
+                Long customerId = customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+                try {
+                    orderService.createOrder(createOrderRequest(customerId));
+                } catch (OptimisticLockingFailureException ex) {
+                    conflicts.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - start;
+
+        int placed = ORDERS - conflicts.get();
+        System.out.printf("[%s, %s] %d orders in %d ms (%.0f orders/s), %d gave up after retries%n",
+            mode, customerCount == 1 ? "hot key" : "uniform keys", placed,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), placed / (elapsedNanos / 1_000_000_000.0), conflicts.get());
+    }
+
+    private void setMode(OrderConcurrencyMode mode) {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(orderService), "concurrencyMode", mode);
+    }
+}
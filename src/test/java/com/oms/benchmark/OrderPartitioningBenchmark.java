@@ -0,0 +1,145 @@
+package com.oms.benchmark;
+
+import com.oms.config.PostgresTestContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same multi-million-row order history in a plain table and in monthly range partitions like {@code orders}.
+ * Reports customer lookups with and without a date range, then the cost of dropping the oldest month and of
+ * vacuuming after a month of churn. Row count via {@code -Dbenchmark.orders} (default 3,000,000).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class OrderPartitioningBenchmark extends PostgresTestContainer {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 3_000_000);
+    private static final int CUSTOMERS = 100_000;
+    private static final int MONTHS = 24;
+    private static final int LOOKUPS = 2_000;
+
+    private static final String COLUMNS =
+        "id bigint NOT NULL, customer_id bigint NOT NULL, amount numeric(38, 2) NOT NULL, " +
+        "discount_amount numeric(38, 2), final_amount numeric(38, 2), order_date timestamp(6) NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final YearMonth firstMonth = YearMonth.now().minusMonths(MONTHS - 1);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_orders_plain, bench_orders_partitioned CASCADE");
+
+        jdbcTemplate.execute("CREATE TABLE bench_orders_plain (" + COLUMNS + ", PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE bench_orders_partitioned (" + COLUMNS + ", PRIMARY KEY (id, order_date)) " +
+            "PARTITION BY RANGE (order_date)");
+        for (int i = 0; i <= MONTHS; i++) {
+            YearMonth month = firstMonth.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                "CREATE TABLE %s PARTITION OF bench_orders_partitioned FOR VALUES FROM ('%s') TO ('%s')",
+                partition(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+
+        for (String table : new String[] {"bench_orders_plain", "bench_orders_partitioned"}) {
+            long start = System.nanoTime();
+            jdbcTemplate.update(
+                "INSERT INTO " + table + " " +
+                "SELECT i, 1 + i % ?, 100.00, 10.00, 90.00, " +
+                "       ?::timestamp + (i::bigint * ? / ?) * interval '1 second' " +
+                "FROM generate_series(1, ?) i",
+                CUSTOMERS, firstMonth.atDay(1).atStartOfDay(), secondsOfHistory(), ORDERS, ORDERS);
+            jdbcTemplate.execute("CREATE INDEX ON " + table +
+                " (customer_id, order_date DESC) INCLUDE (final_amount)");
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+            System.out.printf("[%s] seeded %d orders in %d ms, %s%n", table, ORDERS, millisSince(start), size(table));
+        }
+    }
+
+    @Test
+    void plainVersusMonthlyPartitions() {
+        LocalDate lastMonthStart = YearMonth.now().minusMonths(1).atDay(1);
+        LocalDate thisMonthStart = YearMonth.now().atDay(1);
+
+        for (String table : new String[] {"bench_orders_plain", "bench_orders_partitioned"}) {
+            String rangeCount = "SELECT count(*) FROM " + table +
+                " WHERE customer_id = ? AND order_date >= ? AND order_date < ?";
+            String fullCount = "SELECT count(*) FROM " + table + " WHERE customer_id = ?";
+
+            // Warm up both statements before timing
+            lookups(rangeCount, true, lastMonthStart, thisMonthStart);
+            lookups(fullCount, false, lastMonthStart, thisMonthStart);
+            System.out.printf("[%s] count in last month: %.3f ms/query, count over all months: %.3f ms/query%n", table,
+                lookups(rangeCount, true, lastMonthStart, thisMonthStart),
+                lookups(fullCount, false, lastMonthStart, thisMonthStart));
+        }
+
+        // Retention: drop the oldest month
+        long start = System.nanoTime();
+        int deleted = jdbcTemplate.update("DELETE FROM bench_orders_plain WHERE order_date < ?",
+            firstMonth.plusMonths(1).atDay(1));
+        jdbcTemplate.execute("VACUUM bench_orders_plain");
+        System.out.printf("[bench_orders_plain] dropping the oldest month: DELETE of %d rows + VACUUM in %d ms%n",
+            deleted, millisSince(start));
+
+        start = System.nanoTime();
+        jdbcTemplate.execute("ALTER TABLE bench_orders_partitioned DETACH PARTITION " + partition(firstMonth));
+        jdbcTemplate.execute("DROP TABLE " + partition(firstMonth));
+        System.out.printf("[bench_orders_partitioned] dropping the oldest month: DETACH + DROP in %d ms%n",
+            millisSince(start));
+
+        // Churn: rewrite 10% of the current month, then vacuum what autovacuum would have to process
+        String currentMonth = partition(YearMonth.now());
+        for (String table : new String[] {"bench_orders_plain", "bench_orders_partitioned"}) {
+            jdbcTemplate.update("UPDATE " + table + " SET final_amount = final_amount - 1 " +
+                "WHERE order_date >= ? AND id % 10 = 0", YearMonth.now().atDay(1));
+            start = System.nanoTime();
+            jdbcTemplate.execute("VACUUM (ANALYZE) " + (table.equals("bench_orders_plain") ? table : currentMonth));
+            System.out.printf("[%s] VACUUM ANALYZE after updating the current month in %d ms%n",
+                table, millisSince(start));
+        }
+    }
+
+    private double lookups(String sql, boolean ranged, LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            long customerId = 1 + ThreadLocalRandom.current().nextInt(CUSTOMERS);
+            if (ranged) {
+                jdbcTemplate.queryForObject(sql, Long.class, customerId, from, to);
+            } else {
+                jdbcTemplate.queryForObject(sql, Long.class, customerId);
+            }
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / LOOKUPS;
+    }
+
+    private long secondsOfHistory() {
+        // Orders are spread evenly from the first month until today
+        return TimeUnit.DAYS.toSeconds(firstMonth.atDay(1).until(LocalDate.now(), ChronoUnit.DAYS));
+    }
+
+    private String size(String table) {
+        return jdbcTemplate.queryForObject("SELECT pg_size_pretty(sum(pg_total_relation_size(relid))) " +
+            "FROM pg_partition_tree(?::regclass)", String.class, table);
+    }
+
+    private static String partition(YearMonth month) {
+        return "bench_orders_" + month.toString().replace('-', '_');
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
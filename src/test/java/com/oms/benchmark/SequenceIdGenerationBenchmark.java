@@ -0,0 +1,7 @@
+package com.oms.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("sequence-ids")
+class SequenceIdGenerationBenchmark extends IdGenerationBenchmark {
+}
@@ -0,0 +1,182 @@
+package com.oms.benchmark;
+
+import com.oms.OrderManagementSystemApplication;
+import com.oms.config.ApiEndpoints;
+import com.oms.config.PostgresTestContainer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code POST /api/orders} over HTTP with 1k to 10k concurrent clients, once with Tomcat's platform thread pool
+ * and once with {@code spring.threads.virtual.enabled}. Every client sends its next order as soon as the previous
+ * one is answered; reported are throughput and p50/p99/p99.9 latency per client count.
+ * Client counts via {@code -Dbenchmark.clients} (default 1000,2500,5000,10000), seconds per count via
+ * {@code -Dbenchmark.seconds} (default 20). Pinned virtual threads are printed by {@code -Djdk.tracePinnedThreads}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark extends PostgresTestContainer {
+
+    private static final int[] CLIENTS = Arrays.stream(System.getProperty("benchmark.clients", "1000,2500,5000,10000")
+        .split(",")).mapToInt(clients -> Integer.parseInt(clients.trim())).toArray();
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final int CUSTOMERS = 1_000;
+
+    @ParameterizedTest(name = "virtual threads: {0}")
+    @ValueSource(booleans = {false, true})
+    void createOrderUnderLoad(boolean virtualThreads) throws InterruptedException {
+        try (ConfigurableApplicationContext app = startApplication(virtualThreads)) {
+            List<Long> customerIds = seedCustomers(app.getBean(JdbcTemplate.class));
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + ApiEndpoints.ORDERS);
+
+            try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient client = HttpClient.newBuilder()
+                     .executor(clientExecutor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+                run(client, uri, customerIds, CLIENTS[0], WARMUP);
+                for (int clients : CLIENTS) {
+                    LoadResult result = run(client, uri, customerIds, clients, DURATION);
+                    System.out.printf("[%s threads, %d clients] %d orders in %.1f s (%.0f orders/s), " +
+                            "p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, %d errors%n",
+                        virtualThreads ? "virtual" : "platform", clients, result.completed(),
+                        result.elapsedNanos() / 1e9, result.throughput(),
+                        result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(0.999),
+                        result.errors());
+                }
+            }
+        }
+    }
+
+    // Command line arguments, so they win over application.properties
+    private ConfigurableApplicationContext startApplication(boolean virtualThreads) {
+        return new SpringApplicationBuilder(OrderManagementSystemApplication.class)
+            .profiles("test")
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--spring.jpa.show-sql=false",
+                // Both modes accept every client connection, only the threads serving them differ
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--logging.level.com.oms=WARN"
+            );
+    }
+
+    private static List<Long> seedCustomers(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("TRUNCATE outbox, customer_stats, archived_order_stats, orders, customers");
+        jdbcTemplate.update(
+            "INSERT INTO customers (name, email, tier, total_orders, version) " +
+            "SELECT 'Load Customer ' || i, 'load' || i || '@example.com', 'REGULAR', 0, 0 FROM generate_series(1, ?) i",
+            CUSTOMERS);
+        return jdbcTemplate.queryForList("SELECT id FROM customers", Long.class);
+    }
+
+    private static LoadResult run(HttpClient client, URI uri, List<Long> customerIds, int clients, Duration duration)
+            throws InterruptedException {
+        Queue<Samples> allSamples = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(() -> {
+                    Samples samples = new Samples();
+                    allSamples.add(samples);
+                    while (System.nanoTime() < deadline) {
+                        Long customerId = customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"customerId\":" + customerId + ",\"amount\":100.00}"))
+                            .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 201) {
+                                samples.add(System.nanoTime() - sent);
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (IOException ex) {
+                            errors.increment();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] latencies = allSamples.stream()
+            .flatMapToLong(samples -> Arrays.stream(samples.values, 0, samples.size))
+            .sorted()
+            .toArray();
+        return new LoadResult(latencies, errors.sum(), elapsedNanos);
+    }
+
+    /**
+     * Latencies of one client, only written by that client's thread.
+     */
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+    }
+
+    private record LoadResult(long[] sortedLatencies, long errors, long elapsedNanos) {
+
+        long completed() {
+            return sortedLatencies.length;
+        }
+
+        double throughput() {
+            return completed() / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
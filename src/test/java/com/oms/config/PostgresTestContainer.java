@@ -3,18 +3,23 @@ package com.oms.config;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
 
-@Testcontainers
+/**
+ * One PostgreSQL container shared by every test class in the JVM. Spring caches application contexts across classes
+ * with the same configuration, so the container must outlive a single class; it is started once here and stopped by
+ * Testcontainers when the JVM exits. Test classes clean up the tables they use.
+ */
 public abstract class PostgresTestContainer {
 
-    @Container
     protected static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
             .withDatabaseName("oms_test")
             .withUsername("test")
             .withPassword("test");
 
+    static {
+        postgres.start();
+    }
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
@@ -22,4 +27,4 @@ public abstract class PostgresTestContainer {
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
     }
-} 
\ No newline at end of file
+}
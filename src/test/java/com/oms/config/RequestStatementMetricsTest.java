@@ -0,0 +1,51 @@
+package com.oms.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestStatementMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestStatementMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new RequestStatementMetrics(meterRegistry);
+    }
+
+    @Test
+    void afterCompletion_RecordsStatementsOfRequestByUriPattern() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/customers/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        metrics.preHandle(request, response, new Object());
+        metrics.inspect("select 1");
+        metrics.inspect("select 2");
+        metrics.afterCompletion(request, response, new Object(), null);
+
+        DistributionSummary summary = meterRegistry.get("oms.http.server.requests.statements")
+            .tag("method", "GET")
+            .tag("uri", "/api/customers/{id}")
+            .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    void inspect_OutsideRequest_IsNotCounted() {
+        assertEquals("select 1", metrics.inspect("select 1"));
+
+        metrics.afterCompletion(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object(), null);
+
+        assertNull(meterRegistry.find("oms.http.server.requests.statements").summary());
+    }
+}
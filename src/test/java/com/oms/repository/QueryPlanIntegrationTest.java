@@ -0,0 +1,257 @@
+package com.oms.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.PatchCustomerRequest;
+import com.oms.dto.UpdateCustomerRequest;
+import com.oms.entity.CustomerTier;
+import com.oms.service.CustomerService;
+import com.oms.service.OrderService;
+import com.oms.service.impl.TierProgressionScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository queries of the order, customer and tier progression paths against a seeded database,
+ * records every statement that reaches JDBC and fails if Postgres plans a sequential scan of {@code customers}
+ * or of a populated {@code orders} partition for any of them. Plans are taken with {@code EXPLAIN (GENERIC_PLAN)}, so they hold for every
+ * parameter value rather than the ones used here. Statements without a WHERE clause read whole tables by design
+ * and are not checked.
+ */
+@SpringBootTest(properties = {
+    "oms.tier-progression.heartbeat-interval-ms=3600000",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class QueryPlanIntegrationTest extends PostgresTestContainer {
+
+    private static final int CUSTOMERS = 20_000;
+    private static final int ORDERS = 200_000;
+
+    private static final Pattern SEEDED_TABLE_ACCESS =
+        Pattern.compile("\\b(from|update|join)\\s+(customers|orders)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHERE_CLAUSE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TierProgressionLeaseRepository leaseRepository;
+
+    @Autowired
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TierProgressionScheduler tierProgressionScheduler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Set<String> seededTables;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE outbox, tier_progression_partitions, customer_stats, archived_order_stats, orders, customers");
+        jdbcTemplate.update(
+            "INSERT INTO customers (name, email, tier, total_orders, version) " +
+            "SELECT 'Customer ' || i, 'customer' || i || '@example.com', " +
+            "       CASE WHEN i % 30 >= 20 THEN 'PLATINUM' WHEN i % 30 >= 10 THEN 'GOLD' ELSE 'REGULAR' END, " +
+            "       i % 30, 0 " +
+            "FROM generate_series(1, ?) i", CUSTOMERS);
+        jdbcTemplate.update(
+            "INSERT INTO orders (customer_id, amount, discount_amount, final_amount, order_date) " +
+            "SELECT seed.id + i % ?, 100.00, 0.00, 100.00, localtimestamp - (i % 365) * interval '1 day' " +
+            "FROM generate_series(1, ?) i, (SELECT min(id) AS id FROM customers) seed", CUSTOMERS, ORDERS);
+        jdbcTemplate.execute("ANALYZE customers, orders");
+        // Empty partitions (future months) are left out, a sequential scan of nothing is the cheapest plan
+        seededTables = Set.copyOf(jdbcTemplate.queryForList(
+            "SELECT relname FROM pg_class " +
+            "WHERE relkind = 'r' AND (relname = 'customers' OR relname LIKE 'orders%') AND reltuples > 0",
+            String.class));
+    }
+
+    @Test
+    void repositoryQueries_OnSeededTables_NeverPlanSequentialScans() throws Exception {
+        long customerId = jdbcTemplate.queryForObject("SELECT min(id) FROM customers", Long.class);
+        long orderId = jdbcTemplate.queryForObject("SELECT min(id) FROM orders", Long.class);
+
+        statementRecorder.start();
+        customerRepository.findById(customerId);
+        customerRepository.findByEmail("CUSTOMER42@example.com");
+        customerRepository.findByIdGreaterThanOrderByIdAsc(customerId, Limit.of(100));
+        customerRepository.findTierProgressionCandidates(CustomerTier.REGULAR, 9, customerId, customerId + 10_000);
+        transactionTemplate.executeWithoutResult(status ->
+            customerRepository.findAllByIdForUpdate(List.of(customerId, customerId + 1)));
+        orderRepository.findByCustomerId(customerId);
+        orderRepository.countByCustomerId(customerId);
+        orderRepository.findDTOsByCustomerId(customerId);
+        orderRepository.findDTOsByIdGreaterThan(orderId, Limit.of(100));
+        orderRepository.countByCustomerIdAndOrderDateRange(customerId,
+            LocalDateTime.now().minusMonths(1), LocalDateTime.now());
+        orderRepository.findDTOsByCustomerIdAndOrderDateRange(customerId,
+            LocalDateTime.now().minusMonths(1), LocalDateTime.now());
+        orderRepository.findHistory(customerId, LocalDateTime.now().minusMonths(1), null, Sort.Direction.DESC, Limit.of(20));
+        orderRepository.summarize(customerId, LocalDateTime.now().minusMonths(1), LocalDateTime.now());
+        orderRepository.summarize(customerId, null, null);
+        customerStatsRepository.findDrifted(customerId, customerId + 5_000);
+        customerStatsRepository.repair(customerId);
+        orderService.createOrder(new CreateOrderRequest(customerId, new BigDecimal("10.00")));
+        orderService.createOrders(List.of(
+            new CreateOrderRequest(customerId + 2, new BigDecimal("10.00")),
+            new CreateOrderRequest(customerId + 3, new BigDecimal("20.00"))));
+        orderService.getOrdersByCustomerId(customerId);
+        orderService.getOrdersPage(orderId, 100);
+        customerService.patchCustomer(customerId, new PatchCustomerRequest("Renamed", null));
+        customerService.updateCustomer(customerId + 1, new UpdateCustomerRequest("Updated", "updated@example.com"));
+        leaseRepository.createPartitions(LocalDate.now(), 4);
+        tierProgressionScheduler.runClaimedPartitions();
+        List<String> statements = statementRecorder.stop();
+
+        List<String> checked = statements.stream()
+            .filter(sql -> !sql.stripLeading().regionMatches(true, 0, "insert", 0, 6))
+            .filter(sql -> SEEDED_TABLE_ACCESS.matcher(sql).find() && WHERE_CLAUSE.matcher(sql).find())
+            .distinct()
+            .toList();
+        assertFalse(checked.isEmpty());
+
+        List<String> sequentialScans = new ArrayList<>();
+        for (String sql : checked) {
+            List<String> scanned = new ArrayList<>();
+            String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberPlaceholders(sql), String.class);
+            collectSequentialScans(objectMapper.readTree(plan).get(0).get("Plan"), seededTables, scanned);
+            if (!scanned.isEmpty()) {
+                sequentialScans.add(scanned + " <- " + sql);
+            }
+        }
+        assertTrue(sequentialScans.isEmpty(),
+            () -> "Sequential scans planned on seeded tables:\n" + String.join("\n", sequentialScans));
+    }
+
+    private static void collectSequentialScans(JsonNode plan, Set<String> tables, List<String> scanned) {
+        String relation = plan.path("Relation Name").asText();
+        if ("Seq Scan".equals(plan.path("Node Type").asText()) && tables.contains(relation)) {
+            scanned.add(relation);
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSequentialScans(child, tables, scanned);
+        }
+    }
+
+    // JDBC placeholders become $1..$n, which EXPLAIN (GENERIC_PLAN) accepts without values
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    /**
+     * Wraps the DataSource so every SQL string prepared through JPA or JdbcTemplate is recorded while started.
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+
+        private final Queue<String> statements = new ConcurrentLinkedQueue<>();
+        private volatile boolean recording;
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        List<String> stop() {
+            recording = false;
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, dataSource);
+            }
+            return bean;
+        }
+
+        private <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if (recording && type == Connection.class && method.getName().startsWith("prepare")) {
+                    statements.add((String) args[0]);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                if (result instanceof Connection connection && type == DataSource.class) {
+                    return proxy(Connection.class, connection);
+                }
+                return result;
+            }));
+        }
+    }
+}
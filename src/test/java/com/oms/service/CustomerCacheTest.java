@@ -0,0 +1,172 @@
+package com.oms.service;
+
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import com.oms.repository.CustomerRepository;
+import com.oms.service.impl.CustomerCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerCache customerCache;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerCache = new CustomerCache(customerRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        customer = Customer.builder()
+            .id(1L)
+            .name("Test User")
+            .email("test@example.com")
+            .tier(CustomerTier.REGULAR)
+            .totalOrders(9)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findById_RecordsHitsAndMisses() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        customerCache.findById(1L);
+        customerCache.findById(1L);
+        customerCache.findById(1L);
+
+        verify(customerRepository, times(1)).findById(1L);
+        assertEquals(2, customerCache.getStats().hits());
+        assertEquals(1, customerCache.getStats().misses());
+        assertEquals(2, meterRegistry.get("cache.gets").tags("cache", "customers", "result", "hit")
+            .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "customers", "result", "miss")
+            .functionCounter().count());
+    }
+
+    @Test
+    void findById_UnknownCustomer_IsNotCached() {
+        when(customerRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(customerCache.findById(2L).isEmpty());
+        assertTrue(customerCache.findById(2L).isEmpty());
+
+        verify(customerRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void recordOrder_AppliesTierChangeAfterCommitOnly() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        customerCache.findById(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        customerCache.recordOrder(1L, CustomerTier.GOLD, 10);
+        assertEquals(CustomerTier.REGULAR, customerCache.getIfPresent(1L).orElseThrow().tier());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+
+        assertEquals(CustomerTier.GOLD, customerCache.getIfPresent(1L).orElseThrow().tier());
+        assertEquals(10, customerCache.getIfPresent(1L).orElseThrow().totalOrders());
+    }
+
+    @Test
+    void recordOrder_IgnoresOutOfOrderUpdates() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        customerCache.findById(1L);
+
+        customerCache.recordOrder(1L, CustomerTier.GOLD, 11);
+        customerCache.recordOrder(1L, CustomerTier.GOLD, 10);
+
+        assertEquals(11, customerCache.getIfPresent(1L).orElseThrow().totalOrders());
+    }
+
+    @Test
+    void findById_LoadOverlappingEviction_IsNotCached() {
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+            // A writer commits and evicts while the row is being read
+            customerCache.evict(1L);
+            return Optional.of(customer);
+        });
+
+        assertTrue(customerCache.findById(1L).isPresent());
+
+        assertTrue(customerCache.getIfPresent(1L).isEmpty());
+    }
+
+    @Test
+    void findById_LoadOverlappingRecordedOrder_IsNotCached() {
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+            // An order commits while the pre-order row is being read, nothing is cached yet to patch
+            customerCache.recordOrder(1L, CustomerTier.GOLD, 10);
+            return Optional.of(customer);
+        });
+
+        assertEquals(CustomerTier.REGULAR, customerCache.findById(1L).orElseThrow().tier());
+
+        assertTrue(customerCache.getIfPresent(1L).isEmpty());
+    }
+
+    @Test
+    void findById_LoadOverlappingOtherCustomersChanges_IsCached() {
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+            customerCache.recordOrder(2L, CustomerTier.GOLD, 10);
+            customerCache.evict(3L);
+            return Optional.of(customer);
+        });
+
+        customerCache.findById(1L);
+
+        assertTrue(customerCache.getIfPresent(1L).isPresent());
+    }
+
+    @Test
+    void findById_LoadOverlappingInvalidateAll_IsNotCached() {
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+            customerCache.invalidateAll();
+            return Optional.of(customer);
+        });
+
+        customerCache.findById(1L);
+
+        assertTrue(customerCache.getIfPresent(1L).isEmpty());
+    }
+
+    @Test
+    void evict_DropsEmailLookupToo() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByEmail("test@example.com")).thenReturn(Optional.of(customer));
+        customerCache.findById(1L);
+
+        customerCache.evict(1L);
+        customerCache.findByEmail("test@example.com");
+
+        verify(customerRepository).findByEmail("test@example.com");
+    }
+}
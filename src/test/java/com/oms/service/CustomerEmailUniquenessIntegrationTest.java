@@ -0,0 +1,68 @@
+package com.oms.service;
+
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.UpdateCustomerRequest;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Email uniqueness is enforced by the lower(email) index alone, check it maps to the 400 message.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class CustomerEmailUniquenessIntegrationTest extends PostgresTestContainer {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createCustomer_EmailDifferingOnlyInCase_IsRejected() {
+        customerService.createCustomer(new CreateCustomerRequest("First", "jane.doe@example.com", null));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            customerService.createCustomer(new CreateCustomerRequest("Second", "Jane.Doe@Example.com", null)));
+
+        assertEquals("Email already exists", ex.getMessage());
+        assertEquals(1, customerRepository.count());
+    }
+
+    @Test
+    void updateCustomer_ToTakenEmail_IsRejected() {
+        customerService.createCustomer(new CreateCustomerRequest("First", "first@example.com", null));
+        CustomerDTO second = customerService.createCustomer(new CreateCustomerRequest("Second", "second@example.com", null));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            customerService.updateCustomer(second.id(), new UpdateCustomerRequest("Second", "FIRST@example.com")));
+
+        assertEquals("Email already exists", ex.getMessage());
+        assertEquals("second@example.com", customerService.getCustomerById(second.id()).email());
+    }
+
+    @Test
+    void getCustomerByEmail_IgnoresCase() {
+        CustomerDTO customer = customerService.createCustomer(new CreateCustomerRequest("Case", "case@example.com", null));
+
+        assertEquals(customer.id(), customerService.getCustomerByEmail("CASE@example.com").id());
+    }
+}
@@ -0,0 +1,132 @@
+package com.oms.service;
+
+import com.oms.OrderManagementSystemApplication;
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.UpdateCustomerRequest;
+import com.oms.entity.CustomerTier;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.service.impl.CustomerInvalidationBus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static com.oms.util.TestUtil.createOrderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a second application context against the same database and checks that a change made
+ * through one node evicts the cached customer on the other.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class CustomerInvalidationIntegrationTest extends PostgresTestContainer {
+
+    // Notifications are pushed over LISTEN/NOTIFY, so the other node should converge well within this
+    private static final Duration CONVERGENCE_LIMIT = Duration.ofMillis(250);
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerInvalidationBus customerInvalidationBus;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @AfterAll
+    static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Started only after this context has created the schema
+        if (otherNode == null) {
+            otherNode = startOtherNode();
+        }
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        awaitUntil(customerInvalidationBus::isListening, Duration.ofSeconds(10));
+        awaitUntil(otherNode.getBean(CustomerInvalidationBus.class)::isListening, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void updateCustomer_EvictsCachedCustomerOnOtherNode() {
+        CustomerService otherCustomerService = otherNode.getBean(CustomerService.class);
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Cached Customer", "cached@example.com", null));
+        assertEquals("Cached Customer", otherCustomerService.getCustomerById(customer.id()).name());
+
+        customerService.updateCustomer(customer.id(), new UpdateCustomerRequest("Renamed Customer", "cached@example.com"));
+
+        awaitUntil(() -> otherCustomerService.getCustomerById(customer.id()).name().equals("Renamed Customer"),
+            CONVERGENCE_LIMIT);
+    }
+
+    @Test
+    void createOrder_TierUpgradeEvictsCachedCustomerOnOtherNode() {
+        CustomerService otherCustomerService = otherNode.getBean(CustomerService.class);
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Loyal Customer", "loyal@example.com", null));
+        for (int i = 0; i < 9; i++) {
+            orderService.createOrder(createOrderRequest(customer.id()));
+        }
+        assertEquals(CustomerTier.REGULAR, otherCustomerService.getCustomerById(customer.id()).tier());
+
+        orderService.createOrder(createOrderRequest(customer.id()));
+
+        awaitUntil(() -> otherCustomerService.getCustomerById(customer.id()).tier() == CustomerTier.GOLD,
+            CONVERGENCE_LIMIT);
+    }
+
+    private static ConfigurableApplicationContext startOtherNode() {
+        return new SpringApplicationBuilder(OrderManagementSystemApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                // The schema belongs to the first context
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.show-sql=false")
+            .run();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + timeout.toMillis() + " ms");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
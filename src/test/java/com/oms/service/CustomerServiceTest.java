@@ -1,26 +1,43 @@
 package com.oms.service;
 
+import com.oms.dto.CursorPage;
 import com.oms.dto.CustomerDTO;
 import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerStatsDTO;
+import com.oms.dto.PatchCustomerRequest;
 import com.oms.dto.UpdateCustomerRequest;
 import com.oms.entity.Customer;
 import com.oms.entity.CustomerTier;
 import com.oms.repository.CustomerRepository;
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.service.impl.CustomerCache;
+import com.oms.service.impl.CustomerInvalidationBus;
 import com.oms.service.impl.CustomerServiceImpl;
+import com.oms.service.impl.ReplicaLagGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +46,15 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerInvalidationBus customerInvalidationBus;
+
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Spy
+    private ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(5_000);
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -39,6 +65,9 @@ class CustomerServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(customerService, "customerCache",
+            new CustomerCache(customerRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)));
+
         testCustomer = Customer.builder()
             .id(1L)
             .name("Test User")
@@ -69,8 +98,7 @@ class CustomerServiceTest {
 
     @Test
     void createCustomer_Success() {
-        when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         CustomerDTO result = customerService.createCustomer(testCreateRequest);
 
@@ -80,13 +108,13 @@ class CustomerServiceTest {
         assertEquals(CustomerTier.REGULAR, result.tier());
         assertEquals(0, result.totalOrders());
 
-        verify(customerRepository).existsByEmail(testCreateRequest.email());
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
+        verify(replicaLagGuard).recordWrites(List.of(1L));
     }
 
     @Test
     void createCustomer_EmailExists_ThrowsException() {
-        when(customerRepository.existsByEmail(anyString())).thenReturn(true);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(duplicateEmail());
 
         assertThrows(IllegalArgumentException.class, () -> 
             customerService.createCustomer(testCreateRequest)
@@ -104,6 +132,7 @@ class CustomerServiceTest {
         assertEquals(testCustomerDTO.email(), result.email());
 
         verify(customerRepository).findById(1L);
+        verify(replicaLagGuard).readCustomer(eq(1L), any());
     }
 
     @Test
@@ -115,6 +144,60 @@ class CustomerServiceTest {
         );
     }
 
+    @Test
+    void getCustomerStats_ReturnsMaintainedAggregates() {
+        CustomerStatsDTO stats = new CustomerStatsDTO(1L, 3, new BigDecimal("270.00"), new BigDecimal("30.00"),
+            LocalDateTime.now());
+        when(customerStatsRepository.findByCustomerId(1L)).thenReturn(Optional.of(stats));
+
+        assertEquals(stats, customerService.getCustomerStats(1L));
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getCustomerStats_WithoutOrders_ReturnsZeros() {
+        when(customerStatsRepository.findByCustomerId(1L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        assertEquals(CustomerStatsDTO.empty(1L), customerService.getCustomerStats(1L));
+    }
+
+    @Test
+    void getCustomerStats_NotFound_ThrowsException() {
+        when(customerStatsRepository.findByCustomerId(1L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () ->
+            customerService.getCustomerStats(1L)
+        );
+    }
+
+    @Test
+    void getCustomerById_SecondLookupIsServedFromCache() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        customerService.getCustomerById(1L);
+        CustomerDTO result = customerService.getCustomerByEmail(testCustomer.getEmail());
+
+        assertEquals(testCustomerDTO, result);
+        verify(customerRepository, times(1)).findById(1L);
+        verify(customerRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void updateCustomer_EvictsCachedCustomer() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        customerService.getCustomerById(1L);
+
+        customerService.updateCustomer(1L, new UpdateCustomerRequest("Renamed User", "test@example.com"));
+        customerService.getCustomerById(1L);
+
+        // One read for the first lookup, one inside the update and one reload after the eviction
+        verify(customerRepository, times(3)).findById(1L);
+        verify(customerInvalidationBus).publish(List.of(1L));
+    }
+
     @Test
     void getCustomerByEmail_Success() {
         when(customerRepository.findByEmail(testCustomer.getEmail()))
@@ -155,7 +238,7 @@ class CustomerServiceTest {
             .totalOrders(0)
             .build();
         
-        when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(updatedCustomer);
 
         UpdateCustomerRequest updateRequest = new UpdateCustomerRequest(
             "Updated Name",
@@ -169,7 +252,7 @@ class CustomerServiceTest {
         assertEquals(updateRequest.name(), result.name());
 
         verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -204,7 +287,7 @@ class CustomerServiceTest {
     @Test
     void updateCustomer_WithExistingEmail_ThrowsException() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(customerRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(duplicateEmail());
 
         UpdateCustomerRequest updateRequest = new UpdateCustomerRequest(
             "Test User",
@@ -242,7 +325,7 @@ class CustomerServiceTest {
             .totalOrders(0)
             .build();
         
-        when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(updatedCustomer);
 
         UpdateCustomerRequest updateRequest = new UpdateCustomerRequest(
             "Updated Name",
@@ -256,7 +339,7 @@ class CustomerServiceTest {
         assertEquals(testCustomer.getEmail(), result.email());
 
         verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -312,8 +395,7 @@ class CustomerServiceTest {
 
     @Test
     void createCustomer_ShouldHaveRegularTierAndZeroOrders() {
-        when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         CustomerDTO result = customerService.createCustomer(testCreateRequest);
 
@@ -373,8 +455,7 @@ class CustomerServiceTest {
             .totalOrders(0)
             .build();
 
-        when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(savedCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(savedCustomer);
 
         CustomerDTO result = customerService.createCustomer(request);
 
@@ -386,7 +467,7 @@ class CustomerServiceTest {
     @Test
     void updateCustomer_WithNoChanges_ShouldNotUpdateDatabase() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         UpdateCustomerRequest noChangeRequest = UpdateCustomerRequest.builder()
             .name(testCustomer.getName())
@@ -399,18 +480,17 @@ class CustomerServiceTest {
         assertEquals(testCustomer.getName(), result.name());
         assertEquals(testCustomer.getEmail(), result.email());
         verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
     }
 
     @Test
     void createCustomer_ShouldInitializeWithZeroOrders() {
-        when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         CustomerDTO result = customerService.createCustomer(testCreateRequest);
 
         assertEquals(0, result.totalOrders());
-        verify(customerRepository).save(argThat(customer -> 
+        verify(customerRepository).saveAndFlush(argThat(customer -> 
             customer.getTotalOrders() == 0
         ));
     }
@@ -421,7 +501,7 @@ class CustomerServiceTest {
         testCustomer.setTier(CustomerTier.GOLD);
         
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         UpdateCustomerRequest updateRequest = new UpdateCustomerRequest(
             "Updated Name",
@@ -432,8 +512,73 @@ class CustomerServiceTest {
 
         assertEquals(15, result.totalOrders());
         assertEquals(CustomerTier.GOLD, result.tier());
-        verify(customerRepository).save(argThat(customer -> 
+        verify(customerRepository).saveAndFlush(argThat(customer -> 
             customer.getTotalOrders() == 15 && customer.getTier() == CustomerTier.GOLD
         ));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getCustomersPage_FullPage_ReturnsNextCursor() {
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1))).thenReturn(List.of(testCustomer));
+
+        CursorPage<CustomerDTO> page = customerService.getCustomersPage(null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(testCustomer.getId(), page.nextCursor());
+    }
+
+    @Test
+    void getCustomersPage_WithTooLargeSize_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            customerService.getCustomersPage(null, 1_001)
+        );
+    }
+
+    @Test
+    void patchCustomer_UpdatesOnlyGivenFieldsWithoutPreRead() {
+        when(customerRepository.patch(1L, "New Name", null)).thenReturn(1);
+        testCustomer.setName("New Name");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        CustomerDTO result = customerService.patchCustomer(1L, new PatchCustomerRequest("New Name", null));
+
+        assertEquals("New Name", result.name());
+        verify(customerRepository).patch(1L, "New Name", null);
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+        verify(customerInvalidationBus).publish(List.of(1L));
+    }
+
+    @Test
+    void patchCustomer_WithoutFields_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            customerService.patchCustomer(1L, new PatchCustomerRequest(null, null))
+        );
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void patchCustomer_CustomerNotFound_ThrowsException() {
+        when(customerRepository.patch(1L, null, "new@example.com")).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () ->
+            customerService.patchCustomer(1L, new PatchCustomerRequest(null, "new@example.com"))
+        );
+    }
+
+    @Test
+    void patchCustomer_WithExistingEmail_ThrowsException() {
+        when(customerRepository.patch(1L, null, "existing@example.com")).thenThrow(duplicateEmail());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+            customerService.patchCustomer(1L, new PatchCustomerRequest(null, "existing@example.com"))
+        );
+
+        assertEquals("Email already exists", ex.getMessage());
+    }
+
+    private static DataIntegrityViolationException duplicateEmail() {
+        return new DataIntegrityViolationException("could not execute statement",
+            new SQLException("duplicate key value violates unique constraint", "23505"));
+    }
+}
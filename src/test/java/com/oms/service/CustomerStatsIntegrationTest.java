@@ -0,0 +1,205 @@
+package com.oms.service;
+
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.CustomerStatsDTO;
+import com.oms.dto.OrderSummaryDTO;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.repository.OrderPartition;
+import com.oms.repository.OrderPartitionRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.service.impl.CustomerStatsReconciler;
+import com.oms.service.impl.OrderPartitionMaintainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.oms.util.TestUtil.createOrderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@code customer_stats} follows the order write paths and that the reconciler repairs drift,
+ * also while orders keep arriving for the customer being repaired, and that archived partitions stay counted.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class CustomerStatsIntegrationTest extends PostgresTestContainer {
+
+    private static final int CONCURRENT_ORDERS = 500;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerStatsReconciler reconciler;
+
+    @Autowired
+    private CustomerStatsRepository statsRepository;
+
+    @Autowired
+    private OrderPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private OrderPartitionRepository partitionRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createOrderAndBatch_KeepStatsInStepWithOrders() {
+        CustomerDTO customer = createCustomer("stats@example.com");
+        orderService.createOrder(new CreateOrderRequest(customer.id(), new BigDecimal("100.00")));
+        orderService.createOrders(List.of(
+            new CreateOrderRequest(customer.id(), new BigDecimal("50.00")),
+            new CreateOrderRequest(customer.id(), new BigDecimal("25.50"))));
+
+        assertMatchesOrders(customer.id());
+        assertEquals(0, reconciler.reconcile().repaired());
+    }
+
+    @Test
+    void getCustomerStats_WithoutOrders_ReturnsZeros() {
+        CustomerDTO customer = createCustomer("idle@example.com");
+
+        assertEquals(CustomerStatsDTO.empty(customer.id()), customerService.getCustomerStats(customer.id()));
+    }
+
+    @Test
+    void reconcile_RepairsDriftedAndMissingRows() {
+        CustomerDTO drifted = createCustomer("drifted@example.com");
+        CustomerDTO missing = createCustomer("missing@example.com");
+        CustomerDTO intact = createCustomer("intact@example.com");
+        for (CustomerDTO customer : List.of(drifted, missing, intact)) {
+            orderService.createOrder(createOrderRequest(customer.id()));
+            orderService.createOrder(createOrderRequest(customer.id()));
+        }
+        jdbcTemplate.update("UPDATE customer_stats SET order_count = 99, total_spend = 0 WHERE customer_id = ?", drifted.id());
+        jdbcTemplate.update("DELETE FROM customer_stats WHERE customer_id = ?", missing.id());
+
+        CustomerStatsReconciler.ReconciliationResult result = reconciler.reconcile();
+
+        assertEquals(2, result.repaired());
+        assertEquals(0, result.failed());
+        assertMatchesOrders(drifted.id());
+        assertMatchesOrders(missing.id());
+        assertMatchesOrders(intact.id());
+    }
+
+    @Test
+    void repair_ConcurrentWithOrders_LosesNoIncrement() throws Exception {
+        CustomerDTO customer = createCustomer("busy-stats@example.com");
+        AtomicBoolean ordering = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            Future<Integer> repairs = executor.submit(() -> {
+                int count = 0;
+                while (ordering.get()) {
+                    statsRepository.repair(customer.id());
+                    count++;
+                }
+                return count;
+            });
+            List<Future<?>> orders = new ArrayList<>(CONCURRENT_ORDERS);
+            for (int i = 0; i < CONCURRENT_ORDERS; i++) {
+                orders.add(executor.submit(() -> orderService.createOrder(createOrderRequest(customer.id()))));
+            }
+            for (Future<?> order : orders) {
+                order.get();
+            }
+            ordering.set(false);
+            assertTrue(repairs.get() > 0);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(CONCURRENT_ORDERS, customerService.getCustomerStats(customer.id()).orderCount());
+        assertMatchesOrders(customer.id());
+    }
+
+    @Test
+    void reconcile_AfterPartitionIsArchived_KeepsLifetimeTotals() {
+        CustomerDTO customer = createCustomer("archived-stats@example.com");
+        orderService.createOrder(new CreateOrderRequest(customer.id(), new BigDecimal("100.00")));
+
+        // A month of its own far ahead, so archiving it leaves the partitions other tests write to in place
+        String partitionName = partitionRepository.createMonthlyPartition(YearMonth.now().plusMonths(24));
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO orders (customer_id, amount, discount_amount, final_amount, order_date) " +
+                "VALUES (?, 50.00, 0.00, 50.00, ?)",
+                customer.id(), YearMonth.now().plusMonths(24).atDay(15).atStartOfDay());
+            jdbcTemplate.update("UPDATE customers SET total_orders = total_orders + 1 WHERE id = ?", customer.id());
+            statsRepository.repair(customer.id());
+            OrderPartition partition = partitionRepository.findPartitions().stream()
+                .filter(p -> p.name().equals(partitionName))
+                .findFirst()
+                .orElseThrow();
+
+            partitionMaintainer.archivePartition(partition);
+
+            assertEquals(1, orderService.getOrderSummary(customer.id(), null, null).orderCount());
+            assertEquals(0, reconciler.reconcile().repaired());
+            assertLifetimeTotals(customer.id());
+
+            jdbcTemplate.update("UPDATE customer_stats SET order_count = 99 WHERE customer_id = ?", customer.id());
+            assertEquals(1, reconciler.reconcile().repaired());
+            assertLifetimeTotals(customer.id());
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS archive." + partitionName);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName);
+            jdbcTemplate.update("DELETE FROM archived_order_partitions WHERE partition_name = ?", partitionName);
+        }
+    }
+
+    private void assertLifetimeTotals(Long customerId) {
+        CustomerStatsDTO stats = customerService.getCustomerStats(customerId);
+        assertEquals(2, stats.orderCount());
+        assertEquals(0, new BigDecimal("150.00").compareTo(stats.totalSpend()));
+        assertEquals(customerRepository.findById(customerId).orElseThrow().getTotalOrders().longValue(),
+            stats.orderCount());
+    }
+
+    private CustomerDTO createCustomer(String email) {
+        return customerService.createCustomer(new CreateCustomerRequest("Stats Customer", email, null));
+    }
+
+    private void assertMatchesOrders(Long customerId) {
+        OrderSummaryDTO orders = orderService.getOrderSummary(customerId, null, null);
+        CustomerStatsDTO stats = customerService.getCustomerStats(customerId);
+        assertEquals(orders.orderCount(), stats.orderCount());
+        assertEquals(0, orders.totalFinalAmount().compareTo(stats.totalSpend()));
+        assertEquals(0, orders.totalDiscountAmount().compareTo(stats.totalDiscount()));
+        assertEquals(orders.lastOrderDate(), stats.lastOrderDate());
+    }
+}
@@ -0,0 +1,119 @@
+package com.oms.service;
+
+import com.oms.dto.EmailMessage;
+import com.oms.service.impl.NotificationDispatcher;
+import com.oms.util.FakeMailSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    private FakeMailSink mailSink;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSink = new FakeMailSink();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(mailSink, meterRegistry, 1_000, 2, BATCH_SIZE, 3, 1, 100);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dispatch_OutsideTransaction_DeliversAllMessagesInBatches() {
+        for (int i = 0; i < 250; i++) {
+            dispatcher.dispatch(message(i));
+        }
+
+        // Counted once the sender returns, so after the sink has seen the batch
+        awaitUntil(() -> dispatcher.getStats().sent() == 250);
+
+        assertEquals(250, mailSink.messageCount());
+        assertTrue(mailSink.batches().stream().allMatch(batch -> batch.size() <= BATCH_SIZE));
+        assertEquals(0, dispatcher.getStats().failed());
+    }
+
+    @Test
+    void dispatch_WhenSendFails_RetriesBatch() {
+        mailSink.failNext(2);
+
+        dispatcher.dispatch(message(1));
+
+        awaitUntil(() -> mailSink.messageCount() == 1);
+        assertEquals(2, dispatcher.getStats().retries());
+        assertEquals(0, dispatcher.getStats().failed());
+        assertEquals(2, meterRegistry.get("oms.notifications.send").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void dispatch_InsideTransaction_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        dispatcher.dispatch(message(1));
+        dispatcher.dispatch(message(2));
+
+        assertEquals(0, dispatcher.getStats().enqueued());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        awaitUntil(() -> mailSink.messageCount() == 2);
+        assertNull(TransactionSynchronizationManager.getResource(dispatcher));
+    }
+
+    @Test
+    void dispatch_InsideRolledBackTransaction_DiscardsMessages() {
+        TransactionSynchronizationManager.initSynchronization();
+        dispatcher.dispatch(message(1));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, dispatcher.getStats().enqueued());
+        assertEquals(1, dispatcher.getStats().discarded());
+        assertEquals(0, mailSink.messageCount());
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static EmailMessage message(int index) {
+        return new EmailMessage("customer-" + index + "@example.com", "Subject", "Body " + index);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.oms.service;
+
+import com.oms.config.OrderConcurrencyMode;
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.PatchCustomerRequest;
+import com.oms.entity.CustomerTier;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.oms.util.TestUtil.createOrderRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires many parallel orders at one customer and checks that no counter increment is lost,
+ * for every {@link OrderConcurrencyMode}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class OrderConcurrencyIntegrationTest extends PostgresTestContainer {
+
+    private static final int ORDERS = 2_000;
+    private static final int THREADS = 32;
+    private static final int PATCH_RACE_ORDERS = 500;
+    private static final int PATCH_RACE_PATCHES = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void resetMode() {
+        setMode(OrderConcurrencyMode.ATOMIC);
+    }
+
+    @ParameterizedTest
+    @EnumSource(OrderConcurrencyMode.class)
+    void createOrder_ConcurrentOrdersForSameCustomer_CountsEveryOrder(OrderConcurrencyMode mode) throws Exception {
+        setMode(mode);
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Hot Customer", "hot@example.com", null));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                futures.add(executor.submit(() -> orderService.createOrder(createOrderRequest(customer.id()))));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    // Only optimistic mode may give up, after its bounded retries
+                    assertEquals(OrderConcurrencyMode.OPTIMISTIC, mode);
+                    assertInstanceOf(OptimisticLockingFailureException.class, ex.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int placedOrders = orderRepository.countByCustomerId(customer.id());
+        CustomerDTO result = customerService.getCustomerById(customer.id());
+        assertEquals(placedOrders, result.totalOrders());
+        assertEquals(placedOrders, customerService.getCustomerStats(customer.id()).orderCount());
+        assertEquals(CustomerTier.PLATINUM, result.tier());
+        if (mode != OrderConcurrencyMode.OPTIMISTIC) {
+            assertEquals(ORDERS, placedOrders);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(OrderConcurrencyMode.class)
+    void patchCustomer_ConcurrentWithOrders_LosesNeitherRenameNorOrders(OrderConcurrencyMode mode) throws Exception {
+        setMode(mode);
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Busy Customer", "busy@example.com", null));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> orders = new ArrayList<>(PATCH_RACE_ORDERS);
+            List<Future<?>> patches = new ArrayList<>(PATCH_RACE_PATCHES);
+            for (int i = 0; i < PATCH_RACE_ORDERS; i++) {
+                orders.add(executor.submit(() -> orderService.createOrder(createOrderRequest(customer.id()))));
+                if (i % (PATCH_RACE_ORDERS / PATCH_RACE_PATCHES) == 0) {
+                    String name = "Renamed " + i;
+                    patches.add(executor.submit(() ->
+                        customerService.patchCustomer(customer.id(), new PatchCustomerRequest(name, null))));
+                }
+            }
+            for (Future<?> future : patches) {
+                future.get();
+            }
+            for (Future<?> future : orders) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    // Optimistic orders may still give up against each other, never because of a patch
+                    assertEquals(OrderConcurrencyMode.OPTIMISTIC, mode);
+                    assertInstanceOf(OptimisticLockingFailureException.class, ex.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int placedOrders = orderRepository.countByCustomerId(customer.id());
+        CustomerDTO result = customerService.getCustomerById(customer.id());
+        assertEquals(placedOrders, result.totalOrders());
+        assertEquals(CustomerTier.PLATINUM, result.tier());
+        if (mode != OrderConcurrencyMode.OPTIMISTIC) {
+            assertEquals(PATCH_RACE_ORDERS, placedOrders);
+        }
+        assertTrue(result.name().startsWith("Renamed "));
+        assertEquals("busy@example.com", result.email());
+    }
+
+    private void setMode(OrderConcurrencyMode mode) {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(orderService), "concurrencyMode", mode);
+    }
+}
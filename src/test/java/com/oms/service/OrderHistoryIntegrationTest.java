@@ -0,0 +1,123 @@
+package com.oms.service;
+
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderSummaryDTO;
+import com.oms.entity.Customer;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the order history filters and the summary aggregate against orders spread over several monthly partitions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderHistoryIntegrationTest extends PostgresTestContainer {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private LocalDateTime lastMonth;
+    private LocalDateTime thisMonth;
+    private LocalDateTime nextMonth;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        customer = customerRepository.save(Customer.builder().name("History").email("history@example.com").build());
+        Customer other = customerRepository.save(Customer.builder().name("Other").email("other@example.com").build());
+
+        YearMonth now = YearMonth.now();
+        lastMonth = now.minusMonths(1).atDay(10).atStartOfDay();
+        thisMonth = now.atDay(10).atStartOfDay();
+        nextMonth = now.plusMonths(1).atDay(10).atStartOfDay();
+        insertOrder(customer, lastMonth, "100.00", "0.00");
+        insertOrder(customer, thisMonth, "200.00", "20.00");
+        insertOrder(customer, thisMonth.plusDays(1), "300.00", "30.00");
+        insertOrder(customer, nextMonth, "400.00", "80.00");
+        insertOrder(other, thisMonth, "999.00", "0.00");
+    }
+
+    @Test
+    void getOrdersByCustomerId_FiltersSortsAndLimits() {
+        List<OrderDTO> all = orderService.getOrdersByCustomerId(customer.getId(), null, null, Sort.Direction.ASC, null);
+        assertEquals(List.of(lastMonth, thisMonth, thisMonth.plusDays(1), nextMonth), orderDates(all));
+
+        List<OrderDTO> newest = orderService.getOrdersByCustomerId(customer.getId(), null, nextMonth, Sort.Direction.DESC, 2);
+        assertEquals(List.of(thisMonth.plusDays(1), thisMonth), orderDates(newest));
+
+        List<OrderDTO> fromThisMonth = orderService.getOrdersByCustomerId(customer.getId(), thisMonth, null, Sort.Direction.ASC, null);
+        assertEquals(List.of(thisMonth, thisMonth.plusDays(1), nextMonth), orderDates(fromThisMonth));
+    }
+
+    @Test
+    void getOrderSummary_AggregatesOrdersInRange() {
+        OrderSummaryDTO summary = orderService.getOrderSummary(customer.getId(), thisMonth, null);
+
+        assertEquals(3L, summary.orderCount());
+        assertEquals(0, new BigDecimal("900.00").compareTo(summary.totalAmount()));
+        assertEquals(0, new BigDecimal("130.00").compareTo(summary.totalDiscountAmount()));
+        assertEquals(0, new BigDecimal("770.00").compareTo(summary.totalFinalAmount()));
+        assertEquals(thisMonth, summary.firstOrderDate());
+        assertEquals(nextMonth, summary.lastOrderDate());
+
+        OrderSummaryDTO lifetime = orderService.getOrderSummary(customer.getId(), null, null);
+        assertEquals(4L, lifetime.orderCount());
+        assertEquals(lastMonth, lifetime.firstOrderDate());
+    }
+
+    @Test
+    void getOrderSummary_WithoutOrdersInRange_ReturnsZeroTotals() {
+        OrderSummaryDTO summary = orderService.getOrderSummary(customer.getId(), nextMonth.plusDays(1), null);
+
+        assertEquals(0L, summary.orderCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.totalAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.totalFinalAmount()));
+        assertNull(summary.firstOrderDate());
+        assertNull(summary.lastOrderDate());
+    }
+
+    @Test
+    void getOrderSummary_UnknownCustomer_ThrowsException() {
+        assertThrows(EntityNotFoundException.class, () ->
+            orderService.getOrderSummary(customer.getId() + 1_000, null, null));
+    }
+
+    private void insertOrder(Customer owner, LocalDateTime orderDate, String amount, String discount) {
+        BigDecimal gross = new BigDecimal(amount);
+        BigDecimal discountAmount = new BigDecimal(discount);
+        jdbcTemplate.update(
+            "INSERT INTO orders (customer_id, amount, discount_amount, final_amount, order_date) VALUES (?, ?, ?, ?, ?)",
+            owner.getId(), gross, discountAmount, gross.subtract(discountAmount), orderDate);
+    }
+
+    private static List<LocalDateTime> orderDates(List<OrderDTO> orders) {
+        return orders.stream().map(OrderDTO::orderDate).toList();
+    }
+}
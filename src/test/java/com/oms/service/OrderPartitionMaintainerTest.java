@@ -0,0 +1,114 @@
+package com.oms.service;
+
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.repository.OrderPartition;
+import com.oms.repository.OrderPartitionRepository;
+import com.oms.service.impl.OrderPartitionMaintainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPartitionMaintainerTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private OrderPartitionRepository partitionRepository;
+
+    @Mock
+    private CustomerStatsRepository statsRepository;
+
+    @Test
+    void maintain_CreatesPartitionsUpToMonthsAhead() {
+        OrderPartitionMaintainer maintainer = new OrderPartitionMaintainer(partitionRepository, statsRepository, 3, 0, "archive");
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+            partition("orders_legacy", null, YearMonth.of(2026, 10)),
+            partition("orders_2026_10", YearMonth.of(2026, 10), YearMonth.of(2026, 11))));
+        when(partitionRepository.createMonthlyPartition(any()))
+            .thenAnswer(invocation -> "orders_" + invocation.getArgument(0));
+
+        OrderPartitionMaintainer.MaintenanceResult result = maintainer.maintain(CURRENT);
+
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2026, 11));
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2026, 12));
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2027, 1));
+        verify(partitionRepository, never()).createMonthlyPartition(YearMonth.of(2027, 2));
+        verify(partitionRepository, never()).detachPartition(any());
+        assertEquals(3, result.created().size());
+    }
+
+    @Test
+    void maintain_AfterDowntime_FillsGapFromEndOfCoveredRange() {
+        OrderPartitionMaintainer maintainer = new OrderPartitionMaintainer(partitionRepository, statsRepository, 1, 0, "archive");
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+            partition("orders_legacy", null, YearMonth.of(2026, 8))));
+
+        maintainer.maintain(CURRENT);
+
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2026, 8));
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2026, 9));
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2026, 10));
+        verify(partitionRepository).createMonthlyPartition(YearMonth.of(2026, 11));
+        verifyNoMoreInteractions(ignoreStubs(partitionRepository));
+    }
+
+    @Test
+    void maintain_WithRetention_ArchivesPartitionsEndingBeforeWindow() {
+        OrderPartitionMaintainer maintainer = new OrderPartitionMaintainer(partitionRepository, statsRepository, 1, 12, "archive");
+        OrderPartition legacy = partition("orders_legacy", null, YearMonth.of(2025, 9));
+        OrderPartition expired = partition("orders_2025_09", YearMonth.of(2025, 9), YearMonth.of(2025, 10));
+        OrderPartition kept = partition("orders_2025_10", YearMonth.of(2025, 10), YearMonth.of(2026, 12));
+        when(partitionRepository.findPartitions()).thenReturn(List.of(legacy, expired, kept));
+
+        OrderPartitionMaintainer.MaintenanceResult result = maintainer.maintain(CURRENT);
+
+        InOrder foldBeforeDetach = inOrder(statsRepository, partitionRepository);
+        foldBeforeDetach.verify(statsRepository).foldPartition("orders_legacy");
+        foldBeforeDetach.verify(partitionRepository).detachPartition(legacy);
+        verify(statsRepository).foldPartition("orders_2025_09");
+        verify(statsRepository, never()).foldPartition("orders_2025_10");
+        verify(partitionRepository).detachPartition(expired);
+        verify(partitionRepository, never()).detachPartition(kept);
+        verify(partitionRepository).archiveTable("orders_legacy", "archive");
+        verify(partitionRepository).archiveTable("orders_2025_09", "archive");
+        assertEquals(List.of("orders_legacy", "orders_2025_09"), result.archived());
+    }
+
+    @Test
+    void maintain_WhenArchivingFails_ContinuesWithNextPartition() {
+        OrderPartitionMaintainer maintainer = new OrderPartitionMaintainer(partitionRepository, statsRepository, 1, 1, "archive");
+        OrderPartition first = partition("orders_2026_07", YearMonth.of(2026, 7), YearMonth.of(2026, 8));
+        OrderPartition second = partition("orders_2026_08", YearMonth.of(2026, 8), YearMonth.of(2026, 9));
+        OrderPartition current = partition("orders_2026_09", YearMonth.of(2026, 9), YearMonth.of(2026, 12));
+        when(partitionRepository.findPartitions()).thenReturn(List.of(first, second, current));
+        doThrow(new DataAccessResourceFailureException("Lock timeout")).when(partitionRepository).detachPartition(first);
+
+        OrderPartitionMaintainer.MaintenanceResult result = maintainer.maintain(CURRENT);
+
+        verify(partitionRepository, never()).archiveTable(eq("orders_2026_07"), any());
+        verify(partitionRepository).archiveTable("orders_2026_08", "archive");
+        assertEquals(List.of("orders_2026_08"), result.archived());
+    }
+
+    @Test
+    void constructor_InvalidArchiveSchema_Throws() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new OrderPartitionMaintainer(partitionRepository, statsRepository, 3, 0, "archive; DROP TABLE orders"));
+    }
+
+    private static OrderPartition partition(String name, YearMonth from, YearMonth to) {
+        return new OrderPartition(name, from == null ? null : from.atDay(1).atStartOfDay(),
+            to.atDay(1).atStartOfDay(), false);
+    }
+}
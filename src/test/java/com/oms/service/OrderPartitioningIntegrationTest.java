@@ -0,0 +1,157 @@
+package com.oms.service;
+
+import com.oms.entity.Customer;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.repository.OrderPartition;
+import com.oms.repository.OrderPartitionRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.service.impl.OrderPartitionMaintainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the monthly partitioning of {@code orders}: partitions are created ahead, date-range queries only
+ * touch the partitions overlapping the range, and expired partitions are detached into the archive schema.
+ * The archiving test runs last, it detaches the partitions the other tests write to. For the same reason the class
+ * has its own database rather than the one shared through {@link com.oms.config.PostgresTestContainer}.
+ */
+@Testcontainers
+@SpringBootTest(properties = "oms.orders.partitions.maintenance-interval-ms=3600000")
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrderPartitioningIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("oms_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private OrderPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private OrderPartitionRepository partitionRepository;
+
+    @Autowired
+    private CustomerStatsRepository statsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        customer = customerRepository.save(Customer.builder().name("Partitioned").email("partitioned@example.com").build());
+    }
+
+    @Test
+    @Order(1)
+    void maintain_CreatesPartitionsAheadAndRoutesOrdersByMonth() {
+        YearMonth now = YearMonth.now();
+        partitionMaintainer.maintain(now);
+
+        List<String> names = partitionRepository.findPartitions().stream().map(OrderPartition::name).toList();
+        for (int ahead = 1; ahead <= 3; ahead++) {
+            assertTrue(names.contains(partitionName(now.plusMonths(ahead))), names::toString);
+        }
+
+        insertOrder(now.plusMonths(2).atDay(15).atStartOfDay());
+        insertOrder(LocalDateTime.now());
+        assertEquals(List.of("orders_legacy", partitionName(now.plusMonths(2))), jdbcTemplate.queryForList(
+            "SELECT tableoid::regclass::text FROM orders ORDER BY order_date", String.class));
+    }
+
+    @Test
+    @Order(2)
+    void dateRangeQueries_OnlyScanOverlappingPartitions() {
+        YearMonth month = YearMonth.now().plusMonths(2);
+        partitionMaintainer.maintain(YearMonth.now());
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        insertOrder(from.plusDays(3));
+        insertOrder(to.plusDays(3));
+        insertOrder(LocalDateTime.now());
+
+        assertEquals(1, orderRepository.countByCustomerIdAndOrderDateRange(customer.getId(), from, to));
+        assertEquals(1, orderRepository.findDTOsByCustomerIdAndOrderDateRange(customer.getId(), from, to).size());
+        assertEquals(3, orderRepository.countByCustomerId(customer.getId()));
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN SELECT count(*) FROM orders WHERE customer_id = ? AND order_date >= ? AND order_date < ?",
+            String.class, customer.getId(), from, to));
+        assertTrue(plan.contains(partitionName(month)), plan);
+        assertFalse(plan.contains("orders_legacy"), plan);
+        assertFalse(plan.contains(partitionName(month.plusMonths(1))), plan);
+    }
+
+    @Test
+    @Order(3)
+    void maintain_WithRetention_DetachesExpiredPartitionsIntoArchive() {
+        YearMonth now = YearMonth.now();
+        partitionMaintainer.maintain(now);
+        insertOrder(LocalDateTime.now());
+        insertOrder(now.plusMonths(3).atDay(1).atStartOfDay());
+
+        // Four months from now with one month of retention, everything before now + 3 months has expired
+        OrderPartitionMaintainer retaining = new OrderPartitionMaintainer(partitionRepository, statsRepository, 3, 1, "archive");
+        OrderPartitionMaintainer.MaintenanceResult result = retaining.maintain(now.plusMonths(4));
+
+        assertEquals(Set.of("orders_legacy", partitionName(now.plusMonths(1)), partitionName(now.plusMonths(2))),
+            Set.copyOf(result.archived()));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT to_regclass('archive.orders_legacy')::text", String.class));
+        assertEquals(1, orderRepository.countByCustomerId(customer.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM archive.orders_legacy", Integer.class));
+        assertTrue(result.created().contains(partitionName(now.plusMonths(7))));
+    }
+
+    private void insertOrder(LocalDateTime orderDate) {
+        jdbcTemplate.update(
+            "INSERT INTO orders (customer_id, amount, discount_amount, final_amount, order_date) VALUES (?, 100.00, 0.00, 100.00, ?)",
+            customer.getId(), orderDate);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "orders_" + month.format(PARTITION_SUFFIX);
+    }
+}
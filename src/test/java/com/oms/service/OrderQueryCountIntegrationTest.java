@@ -0,0 +1,101 @@
+package com.oms.service;
+
+import com.oms.config.PostgresTestContainer;
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.OrderDTO;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.oms.util.TestUtil.createOrderRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards against N+1 loading of {@code Order.customer} when orders are mapped to DTOs:
+ * the number of JDBC statements must not depend on how many orders are returned.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderQueryCountIntegrationTest extends PostgresTestContainer {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void getAllOrders_UsesConstantQueryCount(int customers) {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            CustomerDTO customer = createCustomer(i);
+            requests.add(createOrderRequest(customer.id()));
+            requests.add(createOrderRequest(customer.id()));
+        }
+        orderService.createOrders(requests);
+
+        statistics.clear();
+        List<OrderDTO> orders = orderService.getAllOrders();
+
+        assertEquals(customers * 2, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void getOrdersByCustomerId_UsesConstantQueryCount(int orderCount) {
+        CustomerDTO customer = createCustomer(0);
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            requests.add(createOrderRequest(customer.id()));
+        }
+        orderService.createOrders(requests);
+
+        statistics.clear();
+        List<OrderDTO> orders = orderService.getOrdersByCustomerId(customer.id());
+
+        assertEquals(orderCount, orders.size());
+        // existence check + projection query
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private CustomerDTO createCustomer(int index) {
+        return customerService.createCustomer(new CreateCustomerRequest(
+            "Query Count " + index,
+            "query-count-" + index + "@example.com",
+            null
+        ));
+    }
+}
@@ -1,25 +1,53 @@
 package com.oms.service;
 
+import com.oms.config.OrderConcurrencyMode;
+import com.oms.dto.BatchOrderResponse;
 import com.oms.dto.CreateOrderRequest;
+import com.oms.dto.CursorPage;
+import com.oms.dto.CustomerSnapshot;
 import com.oms.dto.OrderDTO;
+import com.oms.dto.OrderSummaryDTO;
 import com.oms.entity.Customer;
 import com.oms.entity.CustomerTier;
 import com.oms.entity.Order;
+import com.oms.entity.TierRules;
 import com.oms.repository.CustomerRepository;
+import com.oms.repository.CustomerStatsRepository;
+import com.oms.repository.OrderBatchRepository;
 import com.oms.repository.OrderRepository;
+import com.oms.repository.TierChange;
+import com.oms.service.impl.CustomerCache;
+import com.oms.service.impl.CustomerInvalidationBus;
+import com.oms.service.impl.CustomerLockStripes;
+import com.oms.service.impl.MinorUnitPricingEngine;
+import com.oms.service.impl.OrderMetrics;
 import com.oms.service.impl.OrderServiceImpl;
+import com.oms.service.impl.OutboxRecorder;
+import com.oms.service.impl.ReplicaLagGuard;
+import com.oms.service.impl.TierRuleProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.oms.util.TestUtil.*;
@@ -36,9 +64,44 @@ class OrderServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
+
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private OutboxRecorder outboxRecorder;
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private CustomerInvalidationBus customerInvalidationBus;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CustomerLockStripes customerLockStripes = new CustomerLockStripes(16);
+
+    @Mock
+    private TierRuleProvider tierRuleProvider;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry, OrderConcurrencyMode.ATOMIC);
+
+    @Spy
+    private ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(5_000);
+
+    @Spy
+    private PricingEngine pricingEngine = new MinorUnitPricingEngine(MinorUnitPricingEngine.defaultRates());
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -50,6 +113,10 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(tierRuleProvider.getRules()).thenReturn(TierRules.defaults());
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         orderDate = LocalDateTime.now();
         
         testCustomer = Customer.builder()
@@ -86,9 +153,9 @@ class OrderServiceTest {
 
     @Test
     void createOrder_Success() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(1, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(testCreateRequest);
 
@@ -98,18 +165,28 @@ class OrderServiceTest {
         assertEquals(BigDecimal.ZERO, result.discountAmount());
         assertEquals(AMOUNT_100, result.finalAmount());
 
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).incrementTotalOrders(1L, 10, 20);
         verify(orderRepository).save(any(Order.class));
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerStatsRepository).addOrders(List.of(testOrder));
+        verify(customerRepository, never()).findById(any());
+        verify(customerRepository, never()).save(any(Customer.class));
+        verify(outboxRecorder).ordersCreated(argThat(orders -> orders.size() == 1));
+        verify(outboxRecorder, never()).tierUpgraded(any());
+        verify(replicaLagGuard).recordWrites(List.of(1L));
+        assertEquals(1, createOrderCount("success"));
     }
 
     @Test
     void createOrder_CustomerNotFound_ThrowsException() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () ->
             orderService.createOrder(testCreateRequest)
         );
+
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(customerStatsRepository);
+        assertEquals(1, createOrderCount("not_found"));
     }
 
     @Test
@@ -161,7 +238,7 @@ class OrderServiceTest {
     @Test
     void getOrdersByCustomerId_Success() {
         when(customerRepository.existsById(1L)).thenReturn(true);
-        when(orderRepository.findByCustomerId(1L)).thenReturn(Arrays.asList(testOrder));
+        when(orderRepository.findDTOsByCustomerId(1L)).thenReturn(Arrays.asList(testOrderDTO));
 
         List<OrderDTO> results = orderService.getOrdersByCustomerId(1L);
 
@@ -171,7 +248,7 @@ class OrderServiceTest {
         assertEquals(testOrderDTO.amount(), results.get(0).amount());
 
         verify(customerRepository).existsById(1L);
-        verify(orderRepository).findByCustomerId(1L);
+        verify(orderRepository).findDTOsByCustomerId(1L);
     }
 
     @Test
@@ -183,9 +260,76 @@ class OrderServiceTest {
         );
     }
 
+    @Test
+    void getOrdersByCustomerId_WithRangeSortAndLimit_QueriesHistory() {
+        LocalDateTime from = orderDate.minusDays(30);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(orderRepository.findHistory(1L, from, orderDate, Sort.Direction.DESC, Limit.of(5)))
+            .thenReturn(List.of(testOrderDTO));
+
+        List<OrderDTO> results = orderService.getOrdersByCustomerId(1L, from, orderDate, Sort.Direction.DESC, 5);
+
+        assertEquals(List.of(testOrderDTO), results);
+        verify(orderRepository, never()).findDTOsByCustomerId(any());
+    }
+
+    @Test
+    void getOrdersByCustomerId_WithoutOptions_ReturnsAllOldestFirst() {
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(orderRepository.findHistory(1L, null, null, Sort.Direction.ASC, Limit.unlimited()))
+            .thenReturn(List.of(testOrderDTO));
+
+        assertEquals(1, orderService.getOrdersByCustomerId(1L, null, null, null, null).size());
+    }
+
+    @Test
+    void getOrdersByCustomerId_WithInvalidLimit_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.getOrdersByCustomerId(1L, null, null, Sort.Direction.ASC, 0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.getOrdersByCustomerId(1L, null, null, Sort.Direction.ASC, 1_001)
+        );
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrdersByCustomerId_WithEmptyRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.getOrdersByCustomerId(1L, orderDate, orderDate, Sort.Direction.ASC, null)
+        );
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrderSummary_Success() {
+        OrderSummaryDTO summary = OrderSummaryDTO.builder()
+            .orderCount(2L)
+            .totalAmount(new BigDecimal("200.00"))
+            .totalDiscountAmount(new BigDecimal("20.00"))
+            .totalFinalAmount(new BigDecimal("180.00"))
+            .firstOrderDate(orderDate.minusDays(1))
+            .lastOrderDate(orderDate)
+            .build();
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(orderRepository.summarize(1L, null, orderDate)).thenReturn(summary);
+
+        assertEquals(summary, orderService.getOrderSummary(1L, null, orderDate));
+    }
+
+    @Test
+    void getOrderSummary_CustomerNotFound_ThrowsException() {
+        when(customerRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () ->
+            orderService.getOrderSummary(1L, null, null)
+        );
+        verify(orderRepository, never()).summarize(any(), any(), any());
+    }
+
     @Test
     void getAllOrders_Success() {
-        when(orderRepository.findAll()).thenReturn(Arrays.asList(testOrder));
+        when(orderRepository.findAllDTOs()).thenReturn(Arrays.asList(testOrderDTO));
 
         List<OrderDTO> results = orderService.getAllOrders();
 
@@ -194,14 +338,13 @@ class OrderServiceTest {
         assertEquals(1, results.size());
         assertEquals(testOrderDTO.amount(), results.get(0).amount());
 
-        verify(orderRepository).findAll();
+        verify(orderRepository).findAllDTOs();
     }
 
     @Test
     void createOrder_UpdatesCustomerTierToGold() {
-        testCustomer.setTotalOrders(9); // One more order will make it 10 (GOLD)
-        
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(10, CustomerTier.REGULAR, CustomerTier.GOLD)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         
         Customer updatedCustomer = Customer.builder()
@@ -212,26 +355,49 @@ class OrderServiceTest {
             .totalOrders(10)
             .build();
         
-        when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(updatedCustomer));
         doNothing().when(notificationService).sendTierUpgradeNotification(any(Customer.class));
 
         OrderDTO result = orderService.createOrder(testCreateRequest);
 
         assertNotNull(result);
-        verify(customerRepository).findById(1L);
-        verify(orderRepository).save(any(Order.class));
-        verify(customerRepository).save(argThat(customer -> 
+        verify(customerRepository).incrementTotalOrders(1L, 10, 20);
+        // The promoting order is still priced with the previous tier
+        verify(orderRepository).save(argThat(order -> 
+            order.getDiscountAmount().compareTo(BigDecimal.ZERO) == 0
+        ));
+        verify(notificationService).sendTierUpgradeNotification(argThat(customer -> 
             customer.getTotalOrders() == 10 && customer.getTier() == CustomerTier.GOLD
         ));
-        verify(notificationService).sendTierUpgradeNotification(any(Customer.class));
+        verify(outboxRecorder).tierUpgraded(argThat(upgrades -> upgrades.size() == 1
+            && upgrades.get(0).previousTier() == CustomerTier.REGULAR
+            && upgrades.get(0).tier() == CustomerTier.GOLD));
+        assertEquals(1.0, meterRegistry.get("oms.customers.tier.upgrades").tag("tier", "GOLD").counter().count());
+        assertEquals(0.0, meterRegistry.get("oms.customers.tier.upgrades").tag("tier", "PLATINUM").counter().count());
+    }
+
+    @Test
+    void createOrder_TierUpgradeOfCachedCustomer_SkipsCustomerRead() {
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(10, CustomerTier.REGULAR, CustomerTier.GOLD)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(customerCache.getIfPresent(1L)).thenReturn(Optional.of(CustomerSnapshot.of(testCustomer)));
+
+        orderService.createOrder(testCreateRequest);
+
+        verify(customerRepository, never()).findById(any());
+        verify(customerCache).recordOrder(1L, CustomerTier.GOLD, 10);
+        verify(customerInvalidationBus).publish(List.of(1L));
+        verify(notificationService).sendTierUpgradeNotification(argThat(customer ->
+            customer.getTotalOrders() == 10 && customer.getTier() == CustomerTier.GOLD
+                && customer.getEmail().equals("test@example.com")
+        ));
     }
 
     @Test
     void createOrder_UpdatesCustomerTierToPlatinum() {
-        testCustomer.setTotalOrders(19); // One more order will make it 20 (PLATINUM)
-        testCustomer.setTier(CustomerTier.GOLD);
-        
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(20, CustomerTier.GOLD, CustomerTier.PLATINUM)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         
         Customer updatedCustomer = Customer.builder()
@@ -242,27 +408,28 @@ class OrderServiceTest {
             .totalOrders(20)
             .build();
         
-        when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(updatedCustomer));
         doNothing().when(notificationService).sendTierUpgradeNotification(any(Customer.class));
 
         OrderDTO result = orderService.createOrder(testCreateRequest);
 
         assertNotNull(result);
-        verify(customerRepository).findById(1L);
-        verify(orderRepository).save(any(Order.class));
-        verify(customerRepository).save(argThat(customer -> 
+        verify(customerRepository).incrementTotalOrders(1L, 10, 20);
+        verify(orderRepository).save(argThat(order -> 
+            order.getDiscountAmount().equals(calculateDiscountAmount(AMOUNT_100, CustomerTier.GOLD))
+        ));
+        verify(notificationService).sendTierUpgradeNotification(argThat(customer -> 
             customer.getTotalOrders() == 20 && customer.getTier() == CustomerTier.PLATINUM
         ));
-        verify(notificationService).sendTierUpgradeNotification(any(Customer.class));
     }
 
     @Test
     void createOrder_SetsOrderDate() {
         CreateOrderRequest request = new CreateOrderRequest(1L, AMOUNT_100);
         
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(1, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(request);
 
@@ -271,14 +438,14 @@ class OrderServiceTest {
         assertTrue(result.orderDate().isBefore(LocalDateTime.now().plusSeconds(1)));
         assertTrue(result.orderDate().isAfter(LocalDateTime.now().minusMinutes(1)));
 
-        verify(customerRepository).findById(1L);
+        verify(customerRepository).incrementTotalOrders(1L, 10, 20);
         verify(orderRepository).save(any(Order.class));
-        verify(customerRepository).save(any(Customer.class));
     }
 
     @Test
     void createOrder_WithRegularCustomer_NoDiscount() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(5, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         
         Order savedOrder = Order.builder()
             .id(1L)
@@ -290,19 +457,21 @@ class OrderServiceTest {
             .build();
             
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(testCreateRequest);
 
         assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result.discountAmount());
         assertEquals(AMOUNT_100, result.finalAmount());
+        verify(orderRepository).save(argThat(order -> 
+            order.getFinalAmount().compareTo(AMOUNT_100) == 0
+        ));
     }
 
     @Test
     void createOrder_WithGoldCustomer_Applies10PercentDiscount() {
-        testCustomer.setTier(CustomerTier.GOLD);
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(5, CustomerTier.GOLD, CustomerTier.GOLD)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         
         Order savedOrder = Order.builder()
             .id(1L)
@@ -314,19 +483,21 @@ class OrderServiceTest {
             .build();
             
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(testCreateRequest);
 
         assertNotNull(result);
         assertEquals(calculateDiscountAmount(AMOUNT_100, CustomerTier.GOLD), result.discountAmount());
         assertEquals(calculateFinalAmount(AMOUNT_100, CustomerTier.GOLD), result.finalAmount());
+        verify(orderRepository).save(argThat(order -> 
+            order.getDiscountAmount().equals(calculateDiscountAmount(AMOUNT_100, CustomerTier.GOLD))
+        ));
     }
 
     @Test
     void createOrder_WithPlatinumCustomer_Applies20PercentDiscount() {
-        testCustomer.setTier(CustomerTier.PLATINUM);
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(5, CustomerTier.PLATINUM, CustomerTier.PLATINUM)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         
         Order savedOrder = Order.builder()
             .id(1L)
@@ -338,21 +509,24 @@ class OrderServiceTest {
             .build();
             
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(testCreateRequest);
 
         assertNotNull(result);
         assertEquals(calculateDiscountAmount(AMOUNT_100, CustomerTier.PLATINUM), result.discountAmount());
         assertEquals(calculateFinalAmount(AMOUNT_100, CustomerTier.PLATINUM), result.finalAmount());
+        verify(orderRepository).save(argThat(order -> 
+            order.getDiscountAmount().equals(calculateDiscountAmount(AMOUNT_100, CustomerTier.PLATINUM))
+        ));
     }
 
     @Test
     void createOrder_NearGoldTier_SendsNotification() {
-        testCustomer.setTotalOrders(8);
+        testCustomer.setTotalOrders(9);
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(9, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
         doNothing().when(notificationService).sendTierProgressionAlert(any(Customer.class), anyInt());
 
         orderService.createOrder(testCreateRequest);
@@ -365,11 +539,12 @@ class OrderServiceTest {
 
     @Test
     void createOrder_NearPlatinumTier_SendsNotification() {
-        testCustomer.setTotalOrders(18);
+        testCustomer.setTotalOrders(19);
         testCustomer.setTier(CustomerTier.GOLD);
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(19, CustomerTier.GOLD, CustomerTier.GOLD)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
         doNothing().when(notificationService).sendTierProgressionAlert(any(Customer.class), anyInt());
 
         orderService.createOrder(testCreateRequest);
@@ -381,14 +556,31 @@ class OrderServiceTest {
     }
 
     @Test
-    void createOrder_NotNearTierUpgrade_NoNotification() {
-        testCustomer.setTotalOrders(5);
+    void createOrder_WithReloadedTierRules_UsesNewThresholds() {
+        when(tierRuleProvider.getRules()).thenReturn(TierRules.of(Map.of(CustomerTier.GOLD, 5, CustomerTier.PLATINUM, 8)));
+        testCustomer.setTotalOrders(4);
+        when(customerRepository.incrementTotalOrders(1L, 5, 8)).thenReturn(Optional.of(tierChange(4, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         orderService.createOrder(testCreateRequest);
 
+        verify(notificationService).sendTierProgressionAlert(
+            argThat(customer -> customer.getTotalOrders() == 4),
+            eq(1)
+        );
+    }
+
+    @Test
+    void createOrder_NotNearTierUpgrade_NoNotification() {
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(6, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        orderService.createOrder(testCreateRequest);
+
+        verify(customerRepository, never()).findById(any());
         verify(notificationService, never()).sendTierProgressionAlert(any(Customer.class), anyInt());
         verify(notificationService, never()).sendTierUpgradeNotification(any(Customer.class));
     }
@@ -398,7 +590,8 @@ class OrderServiceTest {
         BigDecimal maxAmount = BigDecimal.valueOf(Double.MAX_VALUE);
         CreateOrderRequest maxRequest = new CreateOrderRequest(1L, maxAmount);
         
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(1, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         
         Order savedOrder = Order.builder()
             .id(1L)
@@ -410,7 +603,6 @@ class OrderServiceTest {
             .build();
             
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(maxRequest);
 
@@ -425,7 +617,8 @@ class OrderServiceTest {
             .amount(AMOUNT_MIN)
             .build();
         
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.incrementTotalOrders(1L, 10, 20)).thenReturn(Optional.of(tierChange(1, CustomerTier.REGULAR, CustomerTier.REGULAR)));
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
         
         Order savedOrder = Order.builder()
             .id(1L)
@@ -437,7 +630,6 @@ class OrderServiceTest {
             .build();
             
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         OrderDTO result = orderService.createOrder(minRequest);
 
@@ -468,4 +660,173 @@ class OrderServiceTest {
             orderService.createOrder(invalidRequest)
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createOrders_SameCustomerManyTimes_ProgressesTierWithinBatch() {
+        testCustomer.setTotalOrders(8);
+        when(customerRepository.findAllByIdForUpdate(any())).thenReturn(List.of(testCustomer));
+
+        List<CreateOrderRequest> requests = List.of(
+            createOrderRequest(1L),
+            createOrderRequest(1L),
+            createOrderRequest(1L)
+        );
+
+        BatchOrderResponse response = orderService.createOrders(requests);
+
+        assertEquals(3, response.accepted());
+        assertEquals(0, response.rejected());
+        assertEquals(11, testCustomer.getTotalOrders());
+        assertEquals(CustomerTier.GOLD, testCustomer.getTier());
+
+        // 9th and 10th orders are priced as REGULAR, the 11th gets the GOLD discount
+        assertEquals(BigDecimal.ZERO.setScale(2), response.results().get(0).order().discountAmount());
+        assertEquals(BigDecimal.ZERO.setScale(2), response.results().get(1).order().discountAmount());
+        assertEquals(calculateDiscountAmount(AMOUNT_100, CustomerTier.GOLD), response.results().get(2).order().discountAmount());
+
+        verify(customerRepository).findAllByIdForUpdate(any());
+        verify(orderBatchRepository).insertAll(argThat(orders -> orders.size() == 3));
+        verify(customerStatsRepository).addOrders(argThat(orders -> orders.size() == 3));
+        verify(notificationService).sendTierProgressionAlert(any(Customer.class), eq(1));
+        verify(notificationService).sendTierUpgradeNotification(any(Customer.class));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(customerRepository, never()).save(any(Customer.class));
+        verify(outboxRecorder).ordersCreated(argThat(orders -> orders.size() == 3));
+        verify(outboxRecorder).tierUpgraded(argThat(upgrades -> upgrades.size() == 1));
+    }
+
+    @Test
+    void createOrders_ReportsErrorsPerItem() {
+        when(customerRepository.findAllByIdForUpdate(any())).thenReturn(List.of(testCustomer));
+
+        List<CreateOrderRequest> requests = Arrays.asList(
+            createOrderRequest(1L),
+            createOrderRequest(2L),
+            createOrderRequestWithAmount(1L, BigDecimal.ZERO),
+            null
+        );
+
+        BatchOrderResponse response = orderService.createOrders(requests);
+
+        assertEquals(1, response.accepted());
+        assertEquals(3, response.rejected());
+        assertNotNull(response.results().get(0).order());
+        assertEquals("Customer not found", response.results().get(1).error());
+        assertEquals("Order amount must be greater than zero", response.results().get(2).error());
+        assertEquals("Order request is required", response.results().get(3).error());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Order>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderBatchRepository).insertAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(1, testCustomer.getTotalOrders());
+    }
+
+    @Test
+    void createOrders_WithEmptyBatch_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.createOrders(List.of())
+        );
+
+        verifyNoInteractions(orderBatchRepository);
+    }
+
+    @Test
+    void getOrdersPage_FullPage_ReturnsNextCursor() {
+        when(orderRepository.findDTOsByIdGreaterThan(0L, Limit.of(1))).thenReturn(List.of(testOrderDTO));
+
+        CursorPage<OrderDTO> page = orderService.getOrdersPage(null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(testOrderDTO.id(), page.nextCursor());
+    }
+
+    @Test
+    void getOrdersPage_LastPage_HasNoNextCursor() {
+        when(orderRepository.findDTOsByIdGreaterThan(1L, Limit.of(10))).thenReturn(List.of(testOrderDTO));
+
+        CursorPage<OrderDTO> page = orderService.getOrdersPage(1L, 10);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getOrdersPage_WithInvalidSize_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            orderService.getOrdersPage(null, 0)
+        );
+    }
+
+    @Test
+    void createOrder_OptimisticMode_RetriesOnVersionConflict() {
+        ReflectionTestUtils.setField(orderService, "concurrencyMode", OrderConcurrencyMode.OPTIMISTIC);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(customerRepository.save(any(Customer.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L))
+            .thenReturn(testCustomer);
+
+        OrderDTO result = orderService.createOrder(testCreateRequest);
+
+        assertNotNull(result);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(customerRepository, times(2)).save(any(Customer.class));
+        verify(customerRepository, never()).incrementTotalOrders(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void createOrder_OptimisticMode_GivesUpAfterMaxAttempts() {
+        ReflectionTestUtils.setField(orderService, "concurrencyMode", OrderConcurrencyMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(orderService, "optimisticMaxAttempts", 3);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(customerRepository.save(any(Customer.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L));
+
+        assertThrows(OptimisticLockingFailureException.class, () ->
+            orderService.createOrder(testCreateRequest)
+        );
+
+        verify(customerRepository, times(3)).save(any(Customer.class));
+        assertEquals(1, createOrderCount("conflict"));
+    }
+
+    @Test
+    void createOrder_StripedMode_LocksCustomerStripe() {
+        ReflectionTestUtils.setField(orderService, "concurrencyMode", OrderConcurrencyMode.STRIPED);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+
+        OrderDTO result = orderService.createOrder(testCreateRequest);
+
+        assertNotNull(result);
+        assertEquals(1, testCustomer.getTotalOrders());
+        verify(customerLockStripes).forCustomer(1L);
+        verify(customerRepository, never()).incrementTotalOrders(any(), anyInt(), anyInt());
+    }
+
+    private static TierChange tierChange(int totalOrders, CustomerTier previousTier, CustomerTier tier) {
+        return new TierChange() {
+            @Override
+            public Integer getTotalOrders() {
+                return totalOrders;
+            }
+
+            @Override
+            public CustomerTier getTier() {
+                return tier;
+            }
+
+            @Override
+            public CustomerTier getPreviousTier() {
+                return previousTier;
+            }
+        };
+    }
+
+    private long createOrderCount(String outcome) {
+        return meterRegistry.get("oms.orders.create").tag("outcome", outcome).timer().count();
+    }
+}
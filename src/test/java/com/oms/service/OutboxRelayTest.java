@@ -0,0 +1,95 @@
+package com.oms.service;
+
+import com.oms.entity.OutboxEvent;
+import com.oms.repository.OutboxEventRepository;
+import com.oms.service.impl.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_PublishesAndDeletesUntilBatchIsNotFull() {
+        List<OutboxEvent> first = events(1, 2);
+        List<OutboxEvent> second = events(3);
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(first, second);
+
+        outboxRelay.relay();
+
+        verify(outboxEventPublisher).publish(first);
+        verify(outboxEventRepository).deleteAllInBatch(first);
+        verify(outboxEventPublisher).publish(second);
+        verify(outboxEventRepository).deleteAllInBatch(second);
+        verify(outboxEventRepository, times(2)).lockNextBatch(anyInt());
+    }
+
+    @Test
+    void relay_EmptyOutbox_PublishesNothing() {
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verifyNoInteractions(outboxEventPublisher);
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void relay_WhenPublishFails_KeepsEvents() {
+        List<OutboxEvent> batch = events(1, 2);
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("Broker unavailable")).when(outboxEventPublisher).publish(batch);
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(outboxEventRepository).lockNextBatch(2);
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids)
+            .mapToObj(id -> OutboxEvent.builder()
+                .id(id)
+                .aggregateType("Order")
+                .aggregateId(id)
+                .eventType("OrderCreated")
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build())
+            .toList();
+    }
+}
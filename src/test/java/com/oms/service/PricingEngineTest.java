@@ -0,0 +1,112 @@
+package com.oms.service;
+
+import com.oms.dto.OrderPrice;
+import com.oms.entity.CustomerTier;
+import com.oms.entity.Order;
+import com.oms.service.impl.MinorUnitPricingEngine;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.BigRange;
+import net.jqwik.api.constraints.Scale;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingEngineTest {
+
+    private final PricingEngine pricingEngine = new MinorUnitPricingEngine(MinorUnitPricingEngine.defaultRates());
+
+    @Property(tries = 10_000)
+    void price_CentAmounts_EqualsBigDecimalDiscount(
+            @ForAll @BigRange(min = "0.01", max = "999999999999.99") @Scale(2) BigDecimal amount,
+            @ForAll CustomerTier tier) {
+        assertSamePrice(amount, tier, pricingEngine.price(amount, tier));
+    }
+
+    @Property(tries = 1_000)
+    void price_WholeAndTenthAmounts_EqualsBigDecimalDiscount(
+            @ForAll @BigRange(min = "0", max = "1000000") @Scale(1) BigDecimal amount,
+            @ForAll CustomerTier tier) {
+        BigDecimal wholeAmount = amount.setScale(0, RoundingMode.DOWN);
+
+        assertSamePrice(amount, tier, pricingEngine.price(amount, tier));
+        assertSamePrice(wholeAmount, tier, pricingEngine.price(wholeAmount, tier));
+    }
+
+    @Property(tries = 1_000)
+    void price_SubCentAmounts_FallsBackToBigDecimalDiscount(
+            @ForAll @BigRange(min = "0.001", max = "100000") @Scale(4) BigDecimal amount,
+            @ForAll CustomerTier tier) {
+        assertSamePrice(amount, tier, pricingEngine.price(amount, tier));
+    }
+
+    @Property(tries = 1_000)
+    void price_ConfiguredBasisPointRates_RoundsHalfUp(
+            @ForAll @BigRange(min = "0.01", max = "1000000") @Scale(2) BigDecimal amount,
+            @ForAll @BigRange(min = "0", max = "1") @Scale(4) BigDecimal rate) {
+        PricingEngine engine = new MinorUnitPricingEngine(Map.of(CustomerTier.GOLD, rate));
+
+        OrderPrice price = engine.price(amount, CustomerTier.GOLD);
+
+        BigDecimal expectedDiscount = amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(expectedDiscount, price.discountAmount());
+        assertEquals(amount.subtract(expectedDiscount), price.finalAmount());
+    }
+
+    @Example
+    void price_HalfCent_RoundsUp() {
+        // 0.05 * 10% = 0.005
+        OrderPrice price = pricingEngine.price(new BigDecimal("0.05"), CustomerTier.GOLD);
+
+        assertEquals(new BigDecimal("0.01"), price.discountAmount());
+        assertEquals(new BigDecimal("0.04"), price.finalAmount());
+    }
+
+    @Example
+    void price_AmountsBeyondFastPath_EqualsBigDecimalDiscount() {
+        for (BigDecimal amount : new BigDecimal[] {
+                new BigDecimal("1000000000000.00"),
+                new BigDecimal("99999999999999999999.99"),
+                BigDecimal.valueOf(Double.MAX_VALUE),
+                new BigDecimal("1E+3"),
+                new BigDecimal("-10.55")}) {
+            for (CustomerTier tier : CustomerTier.values()) {
+                assertSamePrice(amount, tier, pricingEngine.price(amount, tier));
+            }
+        }
+    }
+
+    @Example
+    void price_RateFinerThanBasisPoint_FallsBackToBigDecimal() {
+        Map<CustomerTier, BigDecimal> rates = new EnumMap<>(CustomerTier.class);
+        rates.put(CustomerTier.PLATINUM, new BigDecimal("0.123456"));
+        PricingEngine engine = new MinorUnitPricingEngine(rates);
+
+        OrderPrice price = engine.price(new BigDecimal("100.00"), CustomerTier.PLATINUM);
+
+        assertEquals(new BigDecimal("12.35"), price.discountAmount());
+        assertEquals(new BigDecimal("87.65"), price.finalAmount());
+    }
+
+    @Example
+    void constructor_RateOutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new MinorUnitPricingEngine(Map.of(CustomerTier.GOLD, new BigDecimal("1.5"))));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MinorUnitPricingEngine(Map.of(CustomerTier.GOLD, new BigDecimal("-0.1"))));
+    }
+
+    private static void assertSamePrice(BigDecimal amount, CustomerTier tier, OrderPrice price) {
+        Order order = Order.builder().amount(amount).build();
+        order.applyDiscount(tier);
+
+        // equals, not compareTo, so the scale must match as well
+        assertEquals(order.getDiscountAmount(), price.discountAmount(), () -> amount + " " + tier);
+        assertEquals(order.getFinalAmount(), price.finalAmount(), () -> amount + " " + tier);
+    }
+}
@@ -0,0 +1,214 @@
+package com.oms.service;
+
+import com.oms.dto.CreateCustomerRequest;
+import com.oms.dto.CustomerDTO;
+import com.oms.dto.OrderDTO;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.service.impl.ReplicaLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.oms.util.TestUtil.createOrderRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application against a primary and a streaming replica cloned from it with {@code pg_basebackup}.
+ * Needs its own pair of containers on a shared network, so it does not use {@link com.oms.config.PostgresTestContainer}.
+ * Replication lag is simulated by pausing WAL replay on the replica.
+ */
+@Testcontainers
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "oms.datasource.replica.max-lag-ms=" + ReadReplicaRoutingIntegrationTest.MAX_LAG_MILLIS,
+    "oms.datasource.replica.lag-poll-interval-ms=20"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    static final long MAX_LAG_MILLIS = 3_000;
+
+    private static final Network network = Network.newNetwork();
+
+    @Container
+    private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("oms_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withCopyFileToContainer(MountableFile.forClasspathResource("replication/primary-init.sh"),
+                "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    private static final GenericContainer<?> replica = new GenericContainer<>("postgres:16-alpine")
+            .withNetwork(network)
+            .withEnv("PGPASSWORD", "test")
+            .withEnv("POSTGRES_PASSWORD", "test")
+            .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+            // -R writes standby.signal and the primary_conninfo to stream from; the entrypoint then skips initdb
+            .withCommand("sh", "-c",
+                "until pg_isready -h primary -U test; do sleep 1; done && " +
+                "su-exec postgres pg_basebackup -h primary -U test -D \"$PGDATA\" -R -X stream && " +
+                "exec docker-entrypoint.sh postgres")
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*", 1)
+                .withStartupTimeout(Duration.ofMinutes(2)))
+            .dependsOn(primary);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("oms.datasource.replica.url", () -> "jdbc:postgresql://" + replica.getHost() + ":"
+            + replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/oms_test");
+    }
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        awaitUntil(replicaLagGuard::isReplicaUsable, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void resumeReplay() {
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_resume()");
+        awaitUntil(replicaLagGuard::isReplicaUsable, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void readOnlyTransaction_RunsOnReplica() {
+        assertTrue(inRecovery(true));
+        assertFalse(inRecovery(false));
+    }
+
+    @Test
+    void readAfterCreate_WhileReplicaLags_ReadsOwnWriteFromPrimary() {
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Fresh Customer", "fresh@example.com", null));
+
+        // Within the lag budget, so other reads still use the replica, which has not seen the customer
+        assertTrue(replicaLagGuard.isReplicaUsable());
+        assertEquals(0, countOnReplica(customer.id()));
+
+        assertEquals("Fresh Customer", customerService.getCustomerById(customer.id()).name());
+        assertTrue(orderService.getOrdersByCustomerId(customer.id()).isEmpty());
+        assertEquals(0, orderService.getOrderSummary(customer.id(), null, null).orderCount());
+    }
+
+    @Test
+    void listsAndStreamsAfterCreate_WhileReplicaLags_IncludeOwnWrites() {
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Listed Customer", "listed@example.com", null));
+        OrderDTO order = orderService.createOrder(createOrderRequest(customer.id()));
+
+        assertTrue(replicaLagGuard.isReplicaUsable());
+        assertTrue(customerService.getAllCustomers().stream().anyMatch(c -> c.id().equals(customer.id())));
+        assertTrue(customerService.getCustomersPage(null, 10).items().stream()
+            .anyMatch(c -> c.id().equals(customer.id())));
+        assertTrue(orderService.getAllOrders().stream().anyMatch(o -> o.id().equals(order.id())));
+        assertTrue(orderService.getOrdersPage(null, 10).items().stream().anyMatch(o -> o.id().equals(order.id())));
+
+        List<Long> streamedCustomerIds = new ArrayList<>();
+        customerService.streamAllCustomers(c -> streamedCustomerIds.add(c.id()));
+        assertTrue(streamedCustomerIds.contains(customer.id()));
+        List<Long> streamedOrderIds = new ArrayList<>();
+        orderService.streamAllOrders(o -> streamedOrderIds.add(o.id()));
+        assertTrue(streamedOrderIds.contains(order.id()));
+    }
+
+    @Test
+    void reads_WhenReplicaLagsBeyondLimit_FallBackToPrimary() {
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+
+        CustomerDTO customer = customerService.createCustomer(
+            new CreateCustomerRequest("Lagging Customer", "lagging@example.com", null));
+
+        awaitUntil(() -> !replicaLagGuard.isReplicaUsable(), Duration.ofMillis(MAX_LAG_MILLIS * 3));
+        assertFalse(inRecovery(true));
+        assertTrue(customerService.getAllCustomers().stream().anyMatch(c -> c.id().equals(customer.id())));
+    }
+
+    private boolean inRecovery(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+            jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private long countOnReplica(Long customerId) {
+        return replicaJdbcTemplate.queryForObject("SELECT count(*) FROM customers WHERE id = ?", Long.class, customerId);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + timeout.toMillis() + " ms");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.oms.service;
+
+import com.oms.config.PostgresTestContainer;
+import com.oms.entity.Customer;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.OrderRepository;
+import com.oms.repository.PartitionLease;
+import com.oms.repository.TierProgressionLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the lease protocol replicas use to share the tier progression run.
+ */
+@SpringBootTest(properties = "oms.tier-progression.heartbeat-interval-ms=3600000")
+@ActiveProfiles("test")
+class TierProgressionLeaseIntegrationTest extends PostgresTestContainer {
+
+    private static final long LEASE_MILLIS = 60_000;
+
+    @Autowired
+    private TierProgressionLeaseRepository leaseRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tier_progression_partitions");
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        customerRepository.saveAll(IntStream.range(0, 40)
+            .mapToObj(i -> Customer.builder().name("Customer " + i).email("customer" + i + "@example.com").build())
+            .toList());
+    }
+
+    @Test
+    void createPartitions_OnlyFirstInstanceCreatesThem() {
+        assertTrue(leaseRepository.createPartitions(LocalDate.now(), 4));
+        assertFalse(leaseRepository.createPartitions(LocalDate.now(), 4));
+
+        Integer partitions = jdbcTemplate.queryForObject("SELECT count(*) FROM tier_progression_partitions", Integer.class);
+        Long coveredTo = jdbcTemplate.queryForObject("SELECT max(to_id) FROM tier_progression_partitions", Long.class);
+        assertEquals(4, partitions);
+        assertEquals(customerRepository.findAll().stream().mapToLong(Customer::getId).max().orElseThrow(), coveredTo);
+    }
+
+    @Test
+    void createPartitions_NewRun_DropsUnfinishedPartitionsOfEarlierRuns() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        leaseRepository.createPartitions(yesterday, 4);
+        PartitionLease stale = leaseRepository.claim("replica-0", LEASE_MILLIS).orElseThrow();
+        assertTrue(leaseRepository.checkpoint(stale.id(), "replica-0", stale.fromId() + 1, 1, 1, LEASE_MILLIS));
+
+        assertTrue(leaseRepository.createPartitions(LocalDate.now(), 4));
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM tier_progression_partitions WHERE run_date < ?", Integer.class, LocalDate.now()));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(LocalDate.now(), leaseRepository.claim("replica-1", LEASE_MILLIS).orElseThrow().runDate());
+        }
+        assertTrue(leaseRepository.claim("replica-1", LEASE_MILLIS).isEmpty());
+        // The instance still working on yesterday's partition finds its lease gone
+        assertFalse(leaseRepository.checkpoint(stale.id(), "replica-0", stale.fromId() + 2, 1, 1, LEASE_MILLIS));
+    }
+
+    @Test
+    void claim_ReplicasLeaseDistinctPartitions() {
+        leaseRepository.createPartitions(LocalDate.now(), 4);
+
+        Set<Long> claimed = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            PartitionLease lease = leaseRepository.claim("replica-" + (i % 2), LEASE_MILLIS).orElseThrow();
+            assertTrue(claimed.add(lease.id()));
+        }
+
+        assertTrue(leaseRepository.claim("replica-2", LEASE_MILLIS).isEmpty());
+        assertFalse(leaseRepository.hasClaimablePartitions());
+    }
+
+    @Test
+    void claim_ExpiredLeaseIsTakenOverAtCheckpoint() {
+        leaseRepository.createPartitions(LocalDate.now(), 1);
+
+        PartitionLease crashed = leaseRepository.claim("replica-a", LEASE_MILLIS).orElseThrow();
+        assertTrue(leaseRepository.checkpoint(crashed.id(), "replica-a", crashed.fromId() + 9, 1, 0, -1));
+
+        Optional<PartitionLease> takeover = leaseRepository.claim("replica-b", LEASE_MILLIS);
+
+        assertTrue(takeover.isPresent());
+        assertEquals(crashed.id(), takeover.get().id());
+        assertEquals(crashed.fromId() + 9, takeover.get().lastProcessedId());
+        assertFalse(leaseRepository.checkpoint(crashed.id(), "replica-a", crashed.toId(), 1, 0, LEASE_MILLIS));
+        assertFalse(leaseRepository.complete(crashed.id(), "replica-a"));
+        assertTrue(leaseRepository.complete(crashed.id(), "replica-b"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.oms.service;
+
+import com.oms.entity.Customer;
+import com.oms.entity.CustomerTier;
+import com.oms.entity.TierRules;
+import com.oms.repository.CustomerRepository;
+import com.oms.repository.PartitionLease;
+import com.oms.repository.TierProgressionLeaseRepository;
+import com.oms.service.impl.TierProgressionScheduler;
+import com.oms.service.impl.TierRuleProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TierProgressionSchedulerTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private TierProgressionLeaseRepository leaseRepository;
+
+    @Mock
+    private TierRuleProvider tierRuleProvider;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TierProgressionScheduler scheduler;
+
+    private Customer nearGoldCustomer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "chunkSize", 10);
+        ReflectionTestUtils.setField(scheduler, "parallelism", 2);
+        scheduler.start();
+
+        lenient().when(tierRuleProvider.getRules()).thenReturn(TierRules.defaults());
+        lenient().when(customerRepository.findTierProgressionCandidates(any(), anyInt(), anyLong(), anyLong()))
+            .thenReturn(List.of());
+        lenient().when(leaseRepository.checkpoint(anyLong(), anyString(), anyLong(), anyInt(), anyLong(), anyLong()))
+            .thenReturn(true);
+
+        nearGoldCustomer = Customer.builder()
+            .id(7L)
+            .name("Near Gold")
+            .email("near.gold@example.com")
+            .tier(CustomerTier.REGULAR)
+            .totalOrders(9)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void runClaimedPartitions_ProcessesEveryLeasedPartitionInChunks() {
+        when(leaseRepository.claim(anyString(), anyLong()))
+            .thenReturn(Optional.of(lease(1L, 1, 25, 0)), Optional.of(lease(2L, 26, 35, 25)), Optional.empty());
+        when(customerRepository.findTierProgressionCandidates(CustomerTier.REGULAR, 9, 1L, 10L))
+            .thenReturn(List.of(nearGoldCustomer));
+
+        TierProgressionScheduler.RunStats stats = scheduler.runClaimedPartitions().orElseThrow();
+
+        verifyChunkQueried(1L, 10L);
+        verifyChunkQueried(11L, 20L);
+        verifyChunkQueried(21L, 25L);
+        verifyChunkQueried(26L, 35L);
+        verify(notificationService).sendTierProgressionAlert(nearGoldCustomer, 1);
+        verify(leaseRepository).complete(eq(1L), anyString());
+        verify(leaseRepository).complete(eq(2L), anyString());
+
+        assertTrue(stats.completed());
+        assertEquals(2, stats.partitions());
+        assertEquals(4, stats.chunks());
+        assertEquals(1, stats.notificationsSent());
+        assertEquals(1, meterRegistry.get("oms.tier-progression.run").tag("outcome", "completed").timer().count());
+        assertEquals(1.0, meterRegistry.get("oms.tier-progression.customers").counter().count());
+    }
+
+    @Test
+    void runClaimedPartitions_ResumesPartitionFromCheckpoint() {
+        when(leaseRepository.claim(anyString(), anyLong()))
+            .thenReturn(Optional.of(lease(1L, 1, 35, 20)), Optional.empty());
+
+        scheduler.runClaimedPartitions();
+
+        verify(customerRepository, never()).findTierProgressionCandidates(any(), anyInt(), eq(1L), eq(10L));
+        verifyChunkQueried(21L, 30L);
+        verifyChunkQueried(31L, 35L);
+        verify(leaseRepository).checkpoint(eq(1L), anyString(), eq(35L), eq(2), eq(0L), anyLong());
+    }
+
+    @Test
+    void runClaimedPartitions_WhenLeaseIsLost_LeavesPartitionToNewOwner() {
+        when(leaseRepository.claim(anyString(), anyLong()))
+            .thenReturn(Optional.of(lease(1L, 1, 40, 0)), Optional.empty());
+        when(leaseRepository.checkpoint(eq(1L), anyString(), eq(20L), anyInt(), anyLong(), anyLong())).thenReturn(false);
+
+        scheduler.runClaimedPartitions();
+
+        verify(customerRepository, never()).findTierProgressionCandidates(any(), anyInt(), eq(21L), eq(30L));
+        verify(leaseRepository, never()).complete(any(), anyString());
+    }
+
+    @Test
+    void runClaimedPartitions_WhenChunkFails_StopsAtLastCheckpoint() {
+        when(leaseRepository.claim(anyString(), anyLong())).thenReturn(Optional.of(lease(1L, 1, 35, 0)));
+        when(customerRepository.findTierProgressionCandidates(CustomerTier.REGULAR, 9, 21L, 30L))
+            .thenThrow(new IllegalStateException("Connection lost"));
+
+        TierProgressionScheduler.RunStats stats = scheduler.runClaimedPartitions().orElseThrow();
+
+        assertFalse(stats.completed());
+        verify(leaseRepository).checkpoint(eq(1L), anyString(), eq(20L), anyInt(), anyLong(), anyLong());
+        verify(leaseRepository, never()).checkpoint(eq(1L), anyString(), eq(35L), anyInt(), anyLong(), anyLong());
+        verify(leaseRepository, never()).complete(any(), anyString());
+        verify(leaseRepository, times(1)).claim(anyString(), anyLong());
+    }
+
+    @Test
+    void checkTierProgressions_CreatesPartitionsForToday() {
+        when(leaseRepository.createPartitions(LocalDate.now(), 16)).thenReturn(false);
+
+        scheduler.checkTierProgressions();
+
+        verify(leaseRepository).createPartitions(LocalDate.now(), 16);
+    }
+
+    @Test
+    void runClaimedPartitions_QueriesBandsOfCurrentTierRules() {
+        when(tierRuleProvider.getRules()).thenReturn(TierRules.of(Map.of(CustomerTier.GOLD, 5, CustomerTier.PLATINUM, 8)));
+        when(leaseRepository.claim(anyString(), anyLong())).thenReturn(Optional.of(lease(1L, 1, 10, 0)), Optional.empty());
+
+        scheduler.runClaimedPartitions();
+
+        verify(customerRepository).findTierProgressionCandidates(CustomerTier.REGULAR, 4, 1L, 10L);
+        verify(customerRepository).findTierProgressionCandidates(CustomerTier.GOLD, 7, 1L, 10L);
+        verify(customerRepository, never()).findTierProgressionCandidates(CustomerTier.REGULAR, 9, 1L, 10L);
+    }
+
+    private void verifyChunkQueried(long fromId, long toId) {
+        verify(customerRepository).findTierProgressionCandidates(CustomerTier.REGULAR, 9, fromId, toId);
+        verify(customerRepository).findTierProgressionCandidates(CustomerTier.GOLD, 19, fromId, toId);
+    }
+
+    private static PartitionLease lease(Long id, long fromId, long toId, long lastProcessedId) {
+        return new PartitionLease(id, LocalDate.now(), id.intValue() - 1, fromId, toId, lastProcessedId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.oms.service;
+
+import com.oms.entity.CustomerTier;
+import com.oms.entity.TierRule;
+import com.oms.entity.TierRules;
+import com.oms.entity.TierRules.ProgressionBand;
+import com.oms.repository.TierRuleRepository;
+import com.oms.service.impl.TierRuleProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TierRulesTest {
+
+    @Mock
+    private TierRuleRepository tierRuleRepository;
+
+    @Test
+    void defaults_MatchFormerHardcodedThresholds() {
+        TierRules rules = TierRules.defaults();
+
+        for (int orders = 0; orders < 30; orders++) {
+            CustomerTier expected = orders >= 20 ? CustomerTier.PLATINUM
+                : orders >= 10 ? CustomerTier.GOLD : CustomerTier.REGULAR;
+            assertEquals(expected, rules.tierFor(orders), "orders " + orders);
+        }
+        assertEquals(CustomerTier.PLATINUM, rules.tierFor(Integer.MAX_VALUE));
+        assertEquals(List.of(new ProgressionBand(CustomerTier.REGULAR, 9), new ProgressionBand(CustomerTier.GOLD, 19)),
+            rules.progressionBands());
+    }
+
+    @Test
+    void isOneOrderAway_OnlyForLastOrderBeforeNextTier() {
+        TierRules rules = TierRules.defaults();
+
+        assertTrue(rules.isOneOrderAway(CustomerTier.REGULAR, 9));
+        assertTrue(rules.isOneOrderAway(CustomerTier.GOLD, 19));
+        assertFalse(rules.isOneOrderAway(CustomerTier.REGULAR, 8));
+        assertFalse(rules.isOneOrderAway(CustomerTier.GOLD, 9));
+        assertFalse(rules.isOneOrderAway(CustomerTier.PLATINUM, 19));
+        assertFalse(rules.isOneOrderAway(CustomerTier.PLATINUM, 100));
+    }
+
+    @Test
+    void promote_NeverDemotes() {
+        TierRules raised = TierRules.of(Map.of(CustomerTier.GOLD, 50, CustomerTier.PLATINUM, 100));
+
+        assertEquals(CustomerTier.PLATINUM, raised.promote(CustomerTier.PLATINUM, 21));
+        assertEquals(CustomerTier.GOLD, raised.promote(CustomerTier.GOLD, 11));
+        assertEquals(CustomerTier.GOLD, raised.promote(CustomerTier.REGULAR, 50));
+    }
+
+    @Test
+    void of_InvalidThresholds_Throws() {
+        assertThrows(IllegalArgumentException.class,
+            () -> TierRules.of(Map.of(CustomerTier.GOLD, 20, CustomerTier.PLATINUM, 20)));
+        assertThrows(IllegalArgumentException.class,
+            () -> TierRules.of(Map.of(CustomerTier.GOLD, 10)));
+        assertThrows(IllegalArgumentException.class,
+            () -> TierRules.of(Map.of(CustomerTier.REGULAR, 1, CustomerTier.GOLD, 10, CustomerTier.PLATINUM, 20)));
+        assertThrows(IllegalArgumentException.class,
+            () -> TierRules.of(Map.of(CustomerTier.GOLD, 10, CustomerTier.PLATINUM, TierRules.MAX_MIN_ORDERS + 1)));
+    }
+
+    @Test
+    void refresh_RowsOverrideConfiguredThresholds() {
+        TierRuleProvider provider = new TierRuleProvider(tierRuleRepository, 10, 20);
+        when(tierRuleRepository.findAll()).thenReturn(List.of(new TierRule(CustomerTier.GOLD, 5)));
+
+        provider.refresh();
+
+        assertEquals(5, provider.getRules().getMinOrders(CustomerTier.GOLD));
+        assertEquals(20, provider.getRules().getMinOrders(CustomerTier.PLATINUM));
+    }
+
+    @Test
+    void refresh_InvalidRowsOrFailure_KeepsCurrentRules() {
+        TierRuleProvider provider = new TierRuleProvider(tierRuleRepository, 10, 20);
+        when(tierRuleRepository.findAll())
+            .thenReturn(List.of(new TierRule(CustomerTier.GOLD, 30)))
+            .thenThrow(new DataAccessResourceFailureException("Connection lost"));
+
+        provider.refresh();
+        provider.refresh();
+
+        assertEquals(TierRules.defaults(), provider.getRules());
+    }
+}
@@ -0,0 +1,38 @@
+package com.oms.util;
+
+import com.oms.dto.EmailMessage;
+import com.oms.service.EmailSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link EmailSender} that records every delivered batch and can fail on demand.
+ */
+public class FakeMailSink implements EmailSender {
+
+    private final List<List<EmailMessage>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Override
+    public void send(List<EmailMessage> batch) {
+        if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            throw new IllegalStateException("Mail backend unavailable");
+        }
+        batches.add(new ArrayList<>(batch));
+    }
+
+    public void failNext(int times) {
+        failuresLeft.set(times);
+    }
+
+    public List<List<EmailMessage>> batches() {
+        return batches;
+    }
+
+    public int messageCount() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+}
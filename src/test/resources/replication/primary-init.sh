@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets the streaming replica of ReadReplicaRoutingIntegrationTest take a base backup and stream WAL
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"